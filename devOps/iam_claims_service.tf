@@ -33,13 +33,17 @@ resource "aws_iam_role_policy" "claims_service_policy" {
         Effect = "Allow"
         Action = [
           "dynamodb:GetItem",
+          "dynamodb:BatchGetItem",
           "dynamodb:PutItem",
           "dynamodb:UpdateItem",
           "dynamodb:DeleteItem",
           "dynamodb:Query",
           "dynamodb:Scan"
         ]
-        Resource = "arn:aws:dynamodb:us-east-1:${data.aws_caller_identity.current.account_id}:table/claims*"
+        Resource = [
+          "arn:aws:dynamodb:us-east-1:${data.aws_caller_identity.current.account_id}:table/claims*",
+          "arn:aws:dynamodb:us-east-1:${data.aws_caller_identity.current.account_id}:table/claims/index/*"
+        ]
       },
       {
         Effect = "Allow"
@@ -59,7 +63,10 @@ resource "aws_iam_role_policy" "claims_service_policy" {
         Action = [
           "lambda:InvokeFunction"
         ]
-        Resource = "arn:aws:lambda:us-east-1:${data.aws_caller_identity.current.account_id}:function:claims-summarizer-lambda"
+        Resource = [
+          "arn:aws:lambda:us-east-1:${data.aws_caller_identity.current.account_id}:function:claims-summarizer-lambda",
+          "arn:aws:lambda:us-east-1:${data.aws_caller_identity.current.account_id}:function:claim_generate_files"
+        ]
       },
       {
         Effect = "Allow"
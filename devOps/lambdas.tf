@@ -6,6 +6,10 @@ data "archive_file" "claims_summarizer_zip" {
     content  = file("${path.module}/../lambdas/claims_summarizer.py")
     filename = "claims_summarizer.py"
   }
+  source {
+    content  = file("${path.module}/../lambdas/trace_context.py")
+    filename = "trace_context.py"
+  }
   source {
     content  = file("${path.module}/../lambdas/requirements.txt")
     filename = "requirements.txt"
@@ -19,6 +23,10 @@ data "archive_file" "claim_data_notes_generator_zip" {
     content  = file("${path.module}/../lambdas/claim_data_notes_generator.py")
     filename = "claim_data_notes_generator.py"
   }
+  source {
+    content  = file("${path.module}/../lambdas/trace_context.py")
+    filename = "trace_context.py"
+  }
   source {
     content  = file("${path.module}/../lambdas/requirements.txt")
     filename = "requirements.txt"
@@ -69,11 +77,13 @@ resource "aws_iam_role_policy" "claims_lambdas" {
         ]
         Resource = aws_dynamodb_table.claims.arn
       },
-      # S3 Read/Write for notes and generated files
+      # S3 Read/Write for notes and generated files; the bucket is versioned and notes
+      # references from the claims service pin the version they saw
       {
         Effect = "Allow"
         Action = [
           "s3:GetObject",
+          "s3:GetObjectVersion",
           "s3:PutObject"
         ]
         Resource = "${aws_s3_bucket.claims_notes.arn}/*"
@@ -9,6 +9,24 @@ resource "aws_dynamodb_table" "claims" {
     type = "S"
   }
 
+  attribute {
+    name = "customerId"
+    type = "S"
+  }
+
+  attribute {
+    name = "createdDate"
+    type = "S"
+  }
+
+  # Lists a customer's claims newest first (GET /api/v1/claims?customerId=...)
+  global_secondary_index {
+    name            = "customerId-createdDate-index"
+    hash_key        = "customerId"
+    range_key       = "createdDate"
+    projection_type = "ALL"
+  }
+
   # Enable point-in-time recovery for data protection
   point_in_time_recovery {
     enabled = true
@@ -27,6 +45,34 @@ resource "aws_dynamodb_table" "claims" {
   }
 }
 
+# DynamoDB Table for Idempotency-Key records of claim creation
+resource "aws_dynamodb_table" "claims_idempotency" {
+  name         = "claims-idempotency"
+  billing_mode = "PAY_PER_REQUEST"
+  hash_key     = "idempotencyKey"
+
+  attribute {
+    name = "idempotencyKey"
+    type = "S"
+  }
+
+  # Records are only needed for the retry window; DynamoDB deletes them after expiresAt
+  ttl {
+    attribute_name = "expiresAt"
+    enabled        = true
+  }
+
+  server_side_encryption {
+    enabled = true
+  }
+
+  tags = {
+    Name        = "${var.cluster_name}-claims-idempotency-table"
+    Environment = var.environment
+    Project     = "introspect2"
+  }
+}
+
 # S3 Bucket for Claims Notes
 resource "aws_s3_bucket" "claims_notes" {
   bucket = "claims-notes-bucket"
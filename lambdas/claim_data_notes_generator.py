@@ -1,3 +1,5 @@
+import base64
+import gzip
 import json
 import boto3
 import os
@@ -6,6 +8,8 @@ from datetime import datetime
 from typing import Dict, Any, Optional
 from botocore.exceptions import ClientError
 
+from trace_context import traceparent
+
 # Configure logging
 logger = logging.getLogger()
 logger.setLevel(logging.INFO)
@@ -29,7 +33,10 @@ class ClaimDataNotesGenerator:
 
     def lambda_handler(self, event: Dict[str, Any], context: Any) -> Dict[str, Any]:
         try:
-            logger.info(f"Received event: {json.dumps(event)}")
+            # The notes can be large, so log only how they were passed
+            notes_mode = 'reference' if 'notesRef' in event else event.get('notesEncoding', 'inline') if 'notes' in event else 'none'
+            logger.info(f"Received event for claim {event.get('claimId')} with notes {notes_mode}, "
+                        f"traceparent {traceparent(context)}")
 
             claim_id = event.get('claimId')
             if not claim_id:
@@ -41,13 +48,15 @@ class ClaimDataNotesGenerator:
                 if not claim_data:
                     raise ValueError(f"Claim {claim_id} not found in database")
 
-            claim_notes = self._fetch_claim_notes_from_s3(claim_id)
+            claim_notes = self._resolve_claim_notes(claim_id, event)
 
             adjuster_notes = self._generate_adjuster_notes(claim_data, claim_notes)
             customer_correspondence = self._generate_customer_correspondence(claim_data, claim_notes)
 
-            self._store_document_to_s3(claim_id, 'adjuster-notes.json', adjuster_notes)
-            self._store_document_to_s3(claim_id, 'customer-correspondence.json', customer_correspondence)
+            # The claims service matches an event invocation to its files by this ID
+            generation_id = event.get('generationId')
+            self._store_document_to_s3(claim_id, 'adjuster-notes.json', adjuster_notes, generation_id)
+            self._store_document_to_s3(claim_id, 'customer-correspondence.json', customer_correspondence, generation_id)
 
             return {
                 'statusCode': 200,
@@ -77,12 +86,36 @@ class ClaimDataNotesGenerator:
             logger.error(f"Error fetching claim {claim_id} from DynamoDB: {e}")
             raise
 
-    def _fetch_claim_notes_from_s3(self, claim_id: str) -> str:
+    def _resolve_claim_notes(self, claim_id: str, event: Dict[str, Any]) -> str:
+        """Notes are sent inline (optionally gzip+base64) or as an S3 reference to read here"""
+        if 'notes' in event:
+            notes = event['notes']
+            if event.get('notesEncoding') == 'gzip+base64':
+                notes = gzip.decompress(base64.b64decode(notes)).decode('utf-8')
+            return notes
+        return self._fetch_claim_notes_from_s3(claim_id, event.get('notesRef'))
+
+    def _fetch_claim_notes_from_s3(self, claim_id: str, notes_ref: Optional[Dict[str, Any]] = None) -> str:
+        notes_ref = notes_ref or {}
+        request = {
+            'Bucket': notes_ref.get('bucket', CLAIMS_BUCKET),
+            'Key': notes_ref.get('key', f'{claim_id}/notes.txt')
+        }
+        # Read the object the service saw; a version pins it, an ETag guards against a newer write
+        if notes_ref.get('versionId'):
+            request['VersionId'] = notes_ref['versionId']
+        elif notes_ref.get('eTag'):
+            request['IfMatch'] = notes_ref['eTag']
         try:
-            response = s3_client.get_object(
-                Bucket=CLAIMS_BUCKET,
-                Key=f'{claim_id}/notes.txt'
-            )
+            try:
+                response = s3_client.get_object(**request)
+            except ClientError as e:
+                if e.response['Error']['Code'] not in ('PreconditionFailed', 'NoSuchVersion'):
+                    raise
+                logger.info(f"Notes of claim {claim_id} changed since the request was sent, reading the latest")
+                request.pop('IfMatch', None)
+                request.pop('VersionId', None)
+                response = s3_client.get_object(**request)
             return response['Body'].read().decode('utf-8')
         except ClientError as e:
             if e.response['Error']['Code'] == 'NoSuchKey':
@@ -226,14 +259,16 @@ Please generate customer correspondence in the following JSON format:
             logger.error(f"Unexpected error in _invoke_bedrock: {e}")
             raise
 
-    def _store_document_to_s3(self, claim_id: str, filename: str, content: Dict[str, Any]) -> None:
+    def _store_document_to_s3(self, claim_id: str, filename: str, content: Dict[str, Any],
+                              generation_id: Optional[str] = None) -> None:
         try:
             key = f'{claim_id}/{filename}'
             s3_client.put_object(
                 Bucket=CLAIMS_BUCKET,
                 Key=key,
                 Body=json.dumps(content, indent=2, default=str),
-                ContentType='application/json'
+                ContentType='application/json',
+                Metadata={'generation-id': generation_id} if generation_id else {}
             )
             logger.info(f"Stored document {key} to S3")
         except ClientError as e:
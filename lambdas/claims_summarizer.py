@@ -1,9 +1,17 @@
 import json
 import boto3
 import os
+import logging
+from concurrent.futures import ThreadPoolExecutor
 from datetime import datetime
 from botocore.exceptions import ClientError
 
+from trace_context import traceparent
+
+# Configure logging
+logger = logging.getLogger()
+logger.setLevel(logging.INFO)
+
 # Initialize AWS clients
 dynamodb = boto3.resource('dynamodb')
 s3_client = boto3.client('s3')
@@ -13,6 +21,7 @@ bedrock_client = boto3.client('bedrock-runtime', region_name='us-east-1')
 CLAIMS_TABLE = os.environ.get('CLAIMS_TABLE', 'claims')
 CLAIMS_BUCKET = os.environ.get('CLAIMS_BUCKET', 'claims-notes-bucket')
 BEDROCK_MODEL_ID = os.environ.get('BEDROCK_MODEL_ID', 'amazon.nova-lite-v1:0')
+BATCH_PARALLELISM = int(os.environ.get('BATCH_PARALLELISM', '4'))
 
 
 class ClaimsSummarizer:
@@ -20,10 +29,39 @@ class ClaimsSummarizer:
         self.table = dynamodb.Table(CLAIMS_TABLE)
 
     def lambda_handler(self, event, context):
+        logger.info(f"Summarize request, traceparent {traceparent(context)}")
+
+        # Batched invocation: {"claims": [{"claimId": ...}, ...]} -> {"results": [...]}
+        if 'claims' in event:
+            return {'results': self._summarize_batch(event.get('claims') or [])}
+
         claim_id = event.get('claimId')
         if not claim_id:
             return {'error': 'claimId required'}
+        return self._summarize_claim(claim_id)
 
+    def _summarize_batch(self, claims):
+        claim_ids = [claim.get('claimId') for claim in claims]
+        if not claim_ids:
+            return []
+        # Bedrock calls dominate, so the claims of a batch are summarized concurrently
+        with ThreadPoolExecutor(max_workers=min(BATCH_PARALLELISM, len(claim_ids))) as executor:
+            return list(executor.map(self._summarize_batch_entry, claim_ids))
+
+    def _summarize_batch_entry(self, claim_id):
+        if not claim_id:
+            return {'claimId': claim_id, 'error': 'claimId required'}
+        try:
+            result = self._summarize_claim(claim_id)
+        except Exception as e:
+            # One failed claim must not fail the rest of the batch
+            logger.error(f"Error summarizing claim {claim_id}: {e}")
+            return {'claimId': claim_id, 'error': str(e)}
+        if 'error' in result:
+            result['claimId'] = claim_id
+        return result
+
+    def _summarize_claim(self, claim_id):
         # Fetch claim
         claim = self.table.get_item(Key={'claimId': claim_id}).get('Item')
         if not claim:
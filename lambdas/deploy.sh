@@ -12,13 +12,13 @@ rm -f *.zip
 # Install dependencies
 pip install -r requirements.txt -t .
 
-# Create deployment package for claims-summarizer
+# Create deployment package for claims-summarizer; both functions need the shared trace_context.py
 echo "Creating claims-summarizer.zip..."
-zip -r claims-summarizer.zip claims-summarizer.py boto3 botocore -x "*.git*" "*__pycache__*" "*.DS_Store" "*test*" "*README.md*" "*claim-data-notes-generator.py*" "*deploy.sh*"
+zip -r claims-summarizer.zip claims_summarizer.py trace_context.py boto3 botocore -x "*.git*" "*__pycache__*" "*.DS_Store" "*test*" "*README.md*" "*deploy.sh*"
 
 # Create deployment package for claim-data-notes-generator
 echo "Creating claim-data-notes-generator.zip..."
-zip -r claim-data-notes-generator.zip claim-data-notes-generator.py boto3 botocore -x "*.git*" "*__pycache__*" "*.DS_Store" "*test*" "*README.md*" "*claims-summarizer.py*" "*deploy.sh*"
+zip -r claim-data-notes-generator.zip claim_data_notes_generator.py trace_context.py boto3 botocore -x "*.git*" "*__pycache__*" "*.DS_Store" "*test*" "*README.md*" "*deploy.sh*"
 
 echo "Packages created successfully:"
 echo "  - claims-summarizer.zip"
@@ -28,11 +28,11 @@ echo "  - claim-data-notes-generator.zip"
 echo ""
 echo "To deploy manually:"
 echo "aws lambda create-function --function-name claims-summarizer \\"
-echo "  --runtime python3.11 --handler claims-summarizer.lambda_handler \\"
+echo "  --runtime python3.11 --handler claims_summarizer.lambda_handler \\"
 echo "  --zip-file fileb://claims-summarizer.zip --role <lambda-role-arn>"
 echo ""
 echo "aws lambda create-function --function-name claim_generate_files \\"
-echo "  --runtime python3.11 --handler claim-data-notes-generator.lambda_handler \\"
+echo "  --runtime python3.11 --handler claim_data_notes_generator.lambda_handler \\"
 echo "  --zip-file fileb://claim-data-notes-generator.zip --role <lambda-role-arn>"
 
 echo ""
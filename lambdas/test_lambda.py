@@ -75,6 +75,107 @@ def test_environment_variables():
     print("✅ Environment variables configured")
     return True
 
+def test_versioned_notes_reference():
+    """A notes reference with a versionId reads that version and falls back to the latest one"""
+    import claim_data_notes_generator as module
+    from botocore.exceptions import ClientError
+
+    class Body:
+        def __init__(self, text):
+            self.text = text
+
+        def read(self):
+            return self.text.encode('utf-8')
+
+    class FakeS3:
+        def __init__(self, missing_version):
+            self.missing_version = missing_version
+            self.requests = []
+
+        def get_object(self, **request):
+            self.requests.append(request)
+            if 'VersionId' in request and self.missing_version:
+                raise ClientError({'Error': {'Code': 'NoSuchVersion'}}, 'GetObject')
+            return {'Body': Body(f"notes v{request.get('VersionId', 'latest')}")}
+
+    notes_ref = {'bucket': 'claims-notes-bucket', 'key': 'CLM-2024-001/notes.txt', 'eTag': '"e1"', 'versionId': '3'}
+    original = module.s3_client
+    try:
+        generator = ClaimDataNotesGenerator()
+        module.s3_client = FakeS3(missing_version=False)
+        notes = generator._fetch_claim_notes_from_s3('CLM-2024-001', notes_ref)
+        if notes != 'notes v3' or module.s3_client.requests[0].get('VersionId') != '3':
+            print(f"❌ Versioned reference read {notes} with {module.s3_client.requests}")
+            return False
+
+        module.s3_client = FakeS3(missing_version=True)
+        notes = generator._fetch_claim_notes_from_s3('CLM-2024-001', notes_ref)
+        if notes != 'notes vlatest' or len(module.s3_client.requests) != 2:
+            print(f"❌ Missing version did not fall back to the latest notes: {module.s3_client.requests}")
+            return False
+    finally:
+        module.s3_client = original
+
+    print("✅ Versioned notes reference resolved")
+    return True
+
+def test_generation_id_metadata():
+    """The generationId of the event is stored as metadata on the generated files"""
+    import claim_data_notes_generator as module
+
+    class FakeS3:
+        def __init__(self):
+            self.requests = []
+
+        def put_object(self, **request):
+            self.requests.append(request)
+
+    original = module.s3_client
+    try:
+        generator = ClaimDataNotesGenerator()
+        module.s3_client = FakeS3()
+        generator._store_document_to_s3('CLM-2024-001', 'adjuster-notes.json', {'summary': 'ok'}, 'gen-1')
+        generator._store_document_to_s3('CLM-2024-001', 'adjuster-notes.json', {'summary': 'ok'})
+        metadata = [request['Metadata'] for request in module.s3_client.requests]
+        if metadata != [{'generation-id': 'gen-1'}, {}]:
+            print(f"❌ Unexpected object metadata: {metadata}")
+            return False
+    finally:
+        module.s3_client = original
+
+    print("✅ Generation ID stored as object metadata")
+    return True
+
+def test_traceparent():
+    """The traceparent comes from the client context, or from the X-Ray header of event invocations"""
+    from types import SimpleNamespace
+    from trace_context import traceparent
+
+    parent = '00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01'
+    context = SimpleNamespace(client_context=SimpleNamespace(custom={'traceparent': parent}))
+    if traceparent(context) != parent:
+        print(f"❌ Client context traceparent not used: {traceparent(context)}")
+        return False
+
+    original = os.environ.get('_X_AMZN_TRACE_ID')
+    os.environ['_X_AMZN_TRACE_ID'] = 'Root=1-4bf92f35-77b34da6a3ce929d0e0e4736;Parent=00f067aa0ba902b7;Sampled=1'
+    try:
+        if traceparent(SimpleNamespace(client_context=None)) != parent:
+            print(f"❌ X-Ray header not converted: {traceparent(SimpleNamespace(client_context=None))}")
+            return False
+        del os.environ['_X_AMZN_TRACE_ID']
+        if traceparent(None) is not None:
+            print("❌ Missing trace context did not return None")
+            return False
+    finally:
+        if original is not None:
+            os.environ['_X_AMZN_TRACE_ID'] = original
+        else:
+            os.environ.pop('_X_AMZN_TRACE_ID', None)
+
+    print("✅ Traceparent resolved")
+    return True
+
 def main():
     """Run all tests"""
     print("🧪 Testing claim-data-notes-generator Lambda function")
@@ -83,7 +184,10 @@ def main():
     tests = [
         ("Lambda Structure", test_lambda_structure),
         ("Sample Payload", test_sample_payload),
-        ("Environment Variables", test_environment_variables)
+        ("Environment Variables", test_environment_variables),
+        ("Versioned Notes Reference", test_versioned_notes_reference),
+        ("Generation ID Metadata", test_generation_id_metadata),
+        ("Traceparent", test_traceparent)
     ]
 
     passed = 0
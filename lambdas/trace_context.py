@@ -0,0 +1,19 @@
+"""Trace context shared by the claims Lambda functions."""
+
+import os
+from typing import Any, Optional
+
+
+def traceparent(context: Any) -> Optional[str]:
+    """W3C traceparent of the calling claims-service request, or None."""
+    # Synchronous invocations carry it in the client context
+    client_context = getattr(context, 'client_context', None)
+    custom = getattr(client_context, 'custom', None) or {}
+    if custom.get('traceparent'):
+        return custom['traceparent']
+    # Event invocations only have the X-Ray header, built from the same trace and span IDs
+    fields = dict(part.split('=', 1) for part in os.environ.get('_X_AMZN_TRACE_ID', '').split(';') if '=' in part)
+    root = fields.get('Root', '').split('-')
+    if len(root) != 3 or not fields.get('Parent'):
+        return None
+    return f"00-{root[1]}{root[2]}-{fields['Parent']}-{'01' if fields.get('Sampled') == '1' else '00'}"
@@ -0,0 +1,49 @@
+package com.example.claims.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Lets a handler give its async response a timeout other than
+ * {@code spring.mvc.async.request-timeout}: a streamed response ({@code StreamingResponseBody}),
+ * which would otherwise end a long download mid-stream, or a {@code CompletableFuture} waiting on
+ * a slow downstream call.
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor, DeferredResultProcessingInterceptor {
+
+    private static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    /**
+     * Sets the async timeout of the response the current handler is about to return.
+     */
+    public static void overrideTimeout(HttpServletRequest request, Duration timeout) {
+        request.setAttribute(TIMEOUT_ATTRIBUTE, timeout);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        applyTimeout(request);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        applyTimeout(request);
+    }
+
+    // Called with the async request before async processing starts, so the timeout still applies
+    private static void applyTimeout(NativeWebRequest request) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Duration duration && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(duration.toMillis());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.claims.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Records the duration of every AWS API call, including SDK retries, as the
+ * {@code claims.aws.calls} timer with a percentile histogram, tagged with the client, the
+ * operation (for example {@code GetItem} or {@code Invoke}) and the outcome. A Lambda invocation
+ * whose function raised an error still counts as {@code SUCCESS} here, since the API call itself
+ * succeeded.
+ */
+public class AwsCallMetricsPublisher implements MetricPublisher {
+
+    private final String client;
+    private final MeterRegistry meterRegistry;
+
+    public AwsCallMetricsPublisher(String client, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(MetricCollection metrics) {
+        Duration duration = last(metrics, CoreMetric.API_CALL_DURATION);
+        if (duration == null) {
+            return;
+        }
+        String operation = last(metrics, CoreMetric.OPERATION_NAME);
+        Timer.builder("claims.aws.calls")
+                .description("Duration of AWS API calls, including SDK retries")
+                .tag("client", client)
+                .tag("operation", operation != null ? operation : "unknown")
+                .tag("outcome", outcome(metrics))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release; the timers live as long as the registry
+    }
+
+    // The error type and status code are reported per attempt; the last attempt decides
+    private static String outcome(MetricCollection metrics) {
+        if (Boolean.TRUE.equals(last(metrics, CoreMetric.API_CALL_SUCCESSFUL))) {
+            return "SUCCESS";
+        }
+        String errorType = null;
+        Integer statusCode = null;
+        for (MetricCollection attempt : metrics.childrenWithName("ApiCallAttempt").toList()) {
+            errorType = last(attempt, CoreMetric.ERROR_TYPE);
+            statusCode = last(attempt, HttpMetric.HTTP_STATUS_CODE);
+        }
+        if ("Throttling".equals(errorType)) {
+            return "THROTTLED";
+        }
+        if ("ServerError".equals(errorType) || statusCode != null && statusCode >= 500) {
+            return "SERVER_ERROR";
+        }
+        if ("IO".equals(errorType)) {
+            return "IO_ERROR";
+        }
+        if (statusCode != null && statusCode >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "UNKNOWN";
+    }
+
+    private static <T> T last(MetricCollection metrics, SdkMetric<T> metric) {
+        List<T> values = metrics.metricValues(metric);
+        return values.isEmpty() ? null : values.get(values.size() - 1);
+    }
+}
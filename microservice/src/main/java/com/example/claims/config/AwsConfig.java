@@ -1,39 +1,189 @@
 package com.example.claims.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.LambdaClient;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 
 @Configuration
+@EnableConfigurationProperties(AwsHttpProperties.class)
 public class AwsConfig {
 
+    private final Region region;
+    private final AwsHttpProperties httpProperties;
+    private final MeterRegistry meterRegistry;
+    // ResiliencePolicy retries DynamoDB and Lambda calls itself; SDK retries on top would multiply them
+    private final boolean sdkRetries;
+
+    public AwsConfig(@Value("${aws.region:us-east-1}") String region, AwsHttpProperties httpProperties,
+                     MeterRegistry meterRegistry, @Value("${app.resilience.enabled:true}") boolean resilienceEnabled) {
+        this.region = Region.of(region);
+        this.httpProperties = httpProperties;
+        this.meterRegistry = meterRegistry;
+        this.sdkRetries = !resilienceEnabled;
+    }
+
     @Bean
     public DynamoDbClient dynamoDbClient() {
         return DynamoDbClient.builder()
-                .region(Region.US_EAST_1) // Update to your region
+                .region(region)
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(syncHttpClientBuilder(httpProperties.forClient("dynamodb")))
+                .overrideConfiguration(overrides("dynamodb", "sync", sdkRetries))
                 .build();
     }
 
     @Bean
-    public S3Client s3Client() {
-        return S3Client.builder()
-                .region(Region.US_EAST_1) // Update to your region
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        return DynamoDbAsyncClient.builder()
+                .region(region)
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(asyncHttpClientBuilder(httpProperties.forClient("dynamodb")))
+                .overrideConfiguration(overrides("dynamodb", "async", sdkRetries))
+                .build();
+    }
+
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(region)
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(asyncHttpClientBuilder(httpProperties.forClient("s3")))
+                .overrideConfiguration(overrides("s3", "async", true))
                 .build();
     }
 
     @Bean
     public LambdaClient lambdaClient() {
         return LambdaClient.builder()
-                .region(Region.US_EAST_1) // Update to your region
+                .region(region)
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(syncHttpClientBuilder(httpProperties.forClient("lambda")))
+                .overrideConfiguration(overrides("lambda", "sync", sdkRetries))
                 .build();
     }
-    
-}
\ No newline at end of file
+
+    @Bean
+    public LambdaAsyncClient lambdaAsyncClient() {
+        return LambdaAsyncClient.builder()
+                .region(region)
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(asyncHttpClientBuilder(httpProperties.forClient("lambda")))
+                .overrideConfiguration(overrides("lambda", "async", sdkRetries))
+                .build();
+    }
+
+    private ClientOverrideConfiguration overrides(String client, String transport, boolean retries) {
+        ClientOverrideConfiguration.Builder builder = ClientOverrideConfiguration.builder()
+                .addMetricPublisher(new HttpPoolMetricsPublisher(client, transport, meterRegistry))
+                .addMetricPublisher(new AwsCallMetricsPublisher(client, meterRegistry));
+        builder.addExecutionInterceptor(new TracePropagationInterceptor());
+        if (!retries) {
+            builder.retryPolicy(RetryPolicy.none());
+        }
+        return builder.build();
+    }
+
+    static SdkHttpClient.Builder<?> syncHttpClientBuilder(AwsHttpTransport transport) {
+        if (transport.getSyncClient() == AwsHttpTransport.SyncClientType.URL_CONNECTION) {
+            // HttpURLConnection keeps its own keep-alive cache, so the pool settings do not apply
+            UrlConnectionHttpClient.Builder builder = UrlConnectionHttpClient.builder();
+            if (transport.getConnectionTimeout() != null) {
+                builder.connectionTimeout(transport.getConnectionTimeout());
+            }
+            if (transport.getSocketTimeout() != null) {
+                builder.socketTimeout(transport.getSocketTimeout());
+            }
+            return builder;
+        }
+
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder();
+        if (transport.getMaxConnections() != null) {
+            builder.maxConnections(transport.getMaxConnections());
+        }
+        if (transport.getConnectionAcquisitionTimeout() != null) {
+            builder.connectionAcquisitionTimeout(transport.getConnectionAcquisitionTimeout());
+        }
+        if (transport.getConnectionTimeout() != null) {
+            builder.connectionTimeout(transport.getConnectionTimeout());
+        }
+        if (transport.getSocketTimeout() != null) {
+            builder.socketTimeout(transport.getSocketTimeout());
+        }
+        if (transport.getConnectionTimeToLive() != null) {
+            builder.connectionTimeToLive(transport.getConnectionTimeToLive());
+        }
+        if (transport.getConnectionMaxIdleTime() != null) {
+            builder.connectionMaxIdleTime(transport.getConnectionMaxIdleTime());
+        }
+        if (transport.getUseIdleConnectionReaper() != null) {
+            builder.useIdleConnectionReaper(transport.getUseIdleConnectionReaper());
+        }
+        if (transport.getTcpKeepAlive() != null) {
+            builder.tcpKeepAlive(transport.getTcpKeepAlive());
+        }
+        return builder;
+    }
+
+    static SdkAsyncHttpClient.Builder<?> asyncHttpClientBuilder(AwsHttpTransport transport) {
+        if (transport.getAsyncClient() == AwsHttpTransport.AsyncClientType.CRT) {
+            // The CRT client has no acquisition timeout, connection TTL or idle reaper setting
+            AwsCrtAsyncHttpClient.Builder builder = AwsCrtAsyncHttpClient.builder();
+            if (transport.getMaxConnections() != null) {
+                builder.maxConcurrency(transport.getMaxConnections());
+            }
+            if (transport.getConnectionTimeout() != null) {
+                builder.connectionTimeout(transport.getConnectionTimeout());
+            }
+            if (transport.getConnectionMaxIdleTime() != null) {
+                builder.connectionMaxIdleTime(transport.getConnectionMaxIdleTime());
+            }
+            return builder;
+        }
+
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder();
+        if (transport.getMaxConnections() != null) {
+            builder.maxConcurrency(transport.getMaxConnections());
+        }
+        if (transport.getConnectionAcquisitionTimeout() != null) {
+            builder.connectionAcquisitionTimeout(transport.getConnectionAcquisitionTimeout());
+        }
+        if (transport.getConnectionTimeout() != null) {
+            builder.connectionTimeout(transport.getConnectionTimeout());
+        }
+        if (transport.getSocketTimeout() != null) {
+            builder.readTimeout(transport.getSocketTimeout());
+            builder.writeTimeout(transport.getSocketTimeout());
+        }
+        if (transport.getConnectionTimeToLive() != null) {
+            builder.connectionTimeToLive(transport.getConnectionTimeToLive());
+        }
+        if (transport.getConnectionMaxIdleTime() != null) {
+            builder.connectionMaxIdleTime(transport.getConnectionMaxIdleTime());
+        }
+        if (transport.getUseIdleConnectionReaper() != null) {
+            builder.useIdleConnectionReaper(transport.getUseIdleConnectionReaper());
+        }
+        if (transport.getTcpKeepAlive() != null) {
+            builder.tcpKeepAlive(transport.getTcpKeepAlive());
+        }
+        return builder;
+    }
+}
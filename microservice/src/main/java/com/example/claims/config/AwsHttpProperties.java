@@ -0,0 +1,58 @@
+package com.example.claims.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP transport settings for the AWS SDK clients, bound from {@code aws.http}. The top-level
+ * values apply to every client; entries under {@code aws.http.clients.<name>} (dynamodb, s3,
+ * lambda) override individual values for that service. Unset values keep the SDK defaults.
+ */
+@ConfigurationProperties(prefix = "aws.http")
+public class AwsHttpProperties extends AwsHttpTransport {
+
+    private Map<String, AwsHttpTransport> clients = new HashMap<>();
+
+    public AwsHttpProperties() {
+        setSyncClient(SyncClientType.APACHE);
+        setAsyncClient(AsyncClientType.NETTY);
+        // The SDK default of 50 becomes the bottleneck once requests run on virtual threads
+        setMaxConnections(200);
+        setConnectionAcquisitionTimeout(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Returns the settings for one client: its overrides on top of the shared values.
+     */
+    public AwsHttpTransport forClient(String client) {
+        AwsHttpTransport overrides = clients.getOrDefault(client, new AwsHttpTransport());
+        AwsHttpTransport resolved = new AwsHttpTransport();
+        resolved.setSyncClient(pick(overrides.getSyncClient(), getSyncClient()));
+        resolved.setAsyncClient(pick(overrides.getAsyncClient(), getAsyncClient()));
+        resolved.setMaxConnections(pick(overrides.getMaxConnections(), getMaxConnections()));
+        resolved.setConnectionAcquisitionTimeout(pick(overrides.getConnectionAcquisitionTimeout(), getConnectionAcquisitionTimeout()));
+        resolved.setConnectionTimeout(pick(overrides.getConnectionTimeout(), getConnectionTimeout()));
+        resolved.setSocketTimeout(pick(overrides.getSocketTimeout(), getSocketTimeout()));
+        resolved.setConnectionTimeToLive(pick(overrides.getConnectionTimeToLive(), getConnectionTimeToLive()));
+        resolved.setConnectionMaxIdleTime(pick(overrides.getConnectionMaxIdleTime(), getConnectionMaxIdleTime()));
+        resolved.setUseIdleConnectionReaper(pick(overrides.getUseIdleConnectionReaper(), getUseIdleConnectionReaper()));
+        resolved.setTcpKeepAlive(pick(overrides.getTcpKeepAlive(), getTcpKeepAlive()));
+        return resolved;
+    }
+
+    private static <T> T pick(T override, T shared) {
+        return override != null ? override : shared;
+    }
+
+    // Getters and Setters
+    public Map<String, AwsHttpTransport> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, AwsHttpTransport> clients) {
+        this.clients = clients;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.claims.config;
+
+import java.time.Duration;
+
+/**
+ * HTTP transport settings for one AWS SDK client. Null values keep the SDK defaults.
+ */
+public class AwsHttpTransport {
+
+    public enum SyncClientType {
+        APACHE,
+        URL_CONNECTION
+    }
+
+    public enum AsyncClientType {
+        NETTY,
+        CRT
+    }
+
+    private SyncClientType syncClient;
+    private AsyncClientType asyncClient;
+    private Integer maxConnections;
+    private Duration connectionAcquisitionTimeout;
+    private Duration connectionTimeout;
+    private Duration socketTimeout;
+    private Duration connectionTimeToLive;
+    private Duration connectionMaxIdleTime;
+    private Boolean useIdleConnectionReaper;
+    private Boolean tcpKeepAlive;
+
+    // Getters and Setters
+    public SyncClientType getSyncClient() {
+        return syncClient;
+    }
+
+    public void setSyncClient(SyncClientType syncClient) {
+        this.syncClient = syncClient;
+    }
+
+    public AsyncClientType getAsyncClient() {
+        return asyncClient;
+    }
+
+    public void setAsyncClient(AsyncClientType asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public Duration getConnectionAcquisitionTimeout() {
+        return connectionAcquisitionTimeout;
+    }
+
+    public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+        this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(Duration socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+    }
+
+    public Duration getConnectionMaxIdleTime() {
+        return connectionMaxIdleTime;
+    }
+
+    public void setConnectionMaxIdleTime(Duration connectionMaxIdleTime) {
+        this.connectionMaxIdleTime = connectionMaxIdleTime;
+    }
+
+    public Boolean getUseIdleConnectionReaper() {
+        return useIdleConnectionReaper;
+    }
+
+    public void setUseIdleConnectionReaper(Boolean useIdleConnectionReaper) {
+        this.useIdleConnectionReaper = useIdleConnectionReaper;
+    }
+
+    public Boolean getTcpKeepAlive() {
+        return tcpKeepAlive;
+    }
+
+    public void setTcpKeepAlive(Boolean tcpKeepAlive) {
+        this.tcpKeepAlive = tcpKeepAlive;
+    }
+}
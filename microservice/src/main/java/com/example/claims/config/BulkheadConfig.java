@@ -0,0 +1,38 @@
+package com.example.claims.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.claims.repository.AdaptiveBulkhead;
+import com.example.claims.repository.Bulkheads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    /**
+     * One adaptive bulkhead per downstream dependency, or pass-through bulkheads when
+     * {@code app.bulkhead.enabled} is false.
+     */
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return Bulkheads.unlimited();
+        }
+        return new Bulkheads(
+                bulkhead(Bulkheads.DYNAMODB, properties, meterRegistry),
+                bulkhead(Bulkheads.S3, properties, meterRegistry),
+                bulkhead(Bulkheads.SUMMARIZER_LAMBDA, properties, meterRegistry),
+                bulkhead(Bulkheads.GENERATE_FILES_LAMBDA, properties, meterRegistry));
+    }
+
+    private static AdaptiveBulkhead bulkhead(String dependency, BulkheadProperties properties,
+                                             MeterRegistry meterRegistry) {
+        BulkheadProperties.Limits limits = properties.forDependency(dependency);
+        return new AdaptiveBulkhead(dependency, limits.getInitialLimit(), limits.getMinLimit(), limits.getMaxLimit(),
+                properties.getTolerance(), meterRegistry);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.claims.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-dependency bulkheads, bound from {@code app.bulkhead}. The top-level
+ * limits apply to every dependency; entries under {@code app.bulkhead.dependencies.<name>}
+ * (dynamodb, s3, summarizer-lambda, generate-files-lambda) override them for that dependency.
+ */
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 100;
+    // Latency up to this multiple of the long-term average does not shrink the limit
+    private double tolerance = 1.5;
+    private Map<String, Limits> dependencies = new HashMap<>();
+
+    /**
+     * Returns the limits for one dependency: its overrides on top of the shared values.
+     */
+    public Limits forDependency(String dependency) {
+        Limits overrides = dependencies.getOrDefault(dependency, new Limits());
+        Limits resolved = new Limits();
+        resolved.setInitialLimit(overrides.getInitialLimit() != null ? overrides.getInitialLimit() : initialLimit);
+        resolved.setMinLimit(overrides.getMinLimit() != null ? overrides.getMinLimit() : minLimit);
+        resolved.setMaxLimit(overrides.getMaxLimit() != null ? overrides.getMaxLimit() : maxLimit);
+        return resolved;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public Map<String, Limits> getDependencies() {
+        return dependencies;
+    }
+
+    public void setDependencies(Map<String, Limits> dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Limits of one dependency. Null values fall back to the shared settings.
+     */
+    public static class Limits {
+
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+
+        // Getters and Setters
+        public Integer getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(Integer initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public Integer getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(Integer minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public Integer getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(Integer maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+}
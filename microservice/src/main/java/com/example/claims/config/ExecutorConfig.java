@@ -0,0 +1,101 @@
+package com.example.claims.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Same switch Spring Boot uses to run Tomcat request handling on virtual threads
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Pool used to fan out chunked DynamoDB batch calls in parallel. In virtual-thread mode every
+     * call gets its own virtual thread; callers already bound how many chunks they submit.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchIoExecutor(@Value("${app.dynamodb.batch.parallelism:8}") int parallelism) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(threadFactory("batch-io-"));
+        }
+        return Executors.newFixedThreadPool(parallelism, threadFactory("batch-io-"));
+    }
+
+    /**
+     * Bounded pool for asynchronous summarize jobs. Submissions beyond the queue capacity are
+     * rejected so callers can back off instead of piling up work. The pool stays bounded in
+     * virtual-thread mode because it is the admission control for the summarizer Lambda.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor summaryJobExecutor(MeterRegistry meterRegistry,
+                                                 @Value("${app.summary-jobs.threads:4}") int threads,
+                                                 @Value("${app.summary-jobs.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolExecutor executor = boundedPool(threads, queueCapacity, threadFactory("summary-job-"));
+        // Publishes executor.queued, executor.active, executor.completed, ... with tag name=summary-jobs
+        new ExecutorServiceMetrics(executor, "summary-jobs", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Dispatch queue for fire-and-forget file generation. The threads only hand events to
+     * Lambda, so a few are enough; a full queue rejects new requests.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor fileGenerationExecutor(MeterRegistry meterRegistry,
+                                                     @Value("${app.file-generation.threads:2}") int threads,
+                                                     @Value("${app.file-generation.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolExecutor executor = boundedPool(threads, queueCapacity, threadFactory("file-generation-"));
+        new ExecutorServiceMetrics(executor, "file-generation", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Pool for the segments of a full-table export. One pool caps the total scan parallelism,
+     * and so the read capacity used, across concurrent exports; extra segments wait for a thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService exportExecutor(@Value("${app.export.parallelism:4}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, threadFactory("export-"));
+    }
+
+    // Jobs keep the trace context of the request that submitted them
+    private static ThreadPoolExecutor boundedPool(int threads, int queueCapacity, ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy()) {
+            @Override
+            public void execute(Runnable command) {
+                super.execute(TraceContext.propagate(command));
+            }
+        };
+    }
+
+    private ThreadFactory threadFactory(String prefix) {
+        return virtualThreads ? Thread.ofVirtual().name(prefix, 1).factory() : namedThreads(prefix);
+    }
+
+    static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
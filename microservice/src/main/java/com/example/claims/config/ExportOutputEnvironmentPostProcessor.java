@@ -0,0 +1,28 @@
+package com.example.claims.config;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * When the claim export writes NDJSON to stdout ({@code --app.export.output=-}), moves console
+ * logging to stderr and turns the banner off, so stdout carries nothing but claims. Runs before
+ * the logging system is initialized, which reads {@code app.logging.console-target}.
+ */
+public class ExportOutputEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String CONSOLE_TARGET = "app.logging.console-target";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"-".equals(environment.getProperty("app.export.output"))) {
+            return;
+        }
+        environment.getPropertySources().addFirst(new MapPropertySource("claimExportToStdout", Map.of(
+                CONSOLE_TARGET, "System.err",
+                "spring.main.banner-mode", "off")));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.claims.config;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Exposes the connection pool state that the SDK HTTP client reports with each request as
+ * {@code aws.http.pool.last-observed.*} gauges tagged with the client and transport. The SDK
+ * gives no handle on the pool itself; it samples the pool when a request acquires a connection,
+ * so each gauge holds the value seen by the latest call and keeps it while the client is idle.
+ * Treat them as a hint of saturation under load, not as the live pool size. The URLConnection
+ * client has no pool and reports nothing.
+ */
+public class HttpPoolMetricsPublisher implements MetricPublisher {
+
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger max = new AtomicInteger();
+
+    public HttpPoolMetricsPublisher(String client, String transport, MeterRegistry meterRegistry) {
+        Tags tags = Tags.of("client", client, "transport", transport);
+        register(meterRegistry, "aws.http.pool.last-observed.leased",
+                "Connections in use, as of the latest AWS call", leased, tags);
+        register(meterRegistry, "aws.http.pool.last-observed.pending",
+                "Requests waiting for a connection, as of the latest AWS call", pending, tags);
+        register(meterRegistry, "aws.http.pool.last-observed.available",
+                "Idle connections ready for reuse, as of the latest AWS call", available, tags);
+        register(meterRegistry, "aws.http.pool.last-observed.max",
+                "Maximum connections the pool may open, as of the latest AWS call", max, tags);
+    }
+
+    @Override
+    public void publish(MetricCollection metrics) {
+        record(metrics);
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release; the gauges live as long as the registry
+    }
+
+    private void record(MetricCollection metrics) {
+        // Pool metrics are reported on the HttpClient collection nested under each attempt
+        update(metrics, HttpMetric.LEASED_CONCURRENCY, leased);
+        update(metrics, HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pending);
+        update(metrics, HttpMetric.AVAILABLE_CONCURRENCY, available);
+        update(metrics, HttpMetric.MAX_CONCURRENCY, max);
+        metrics.children().forEach(this::record);
+    }
+
+    private static void update(MetricCollection metrics, SdkMetric<Integer> metric, AtomicInteger gauge) {
+        List<Integer> values = metrics.metricValues(metric);
+        if (!values.isEmpty()) {
+            gauge.set(values.get(values.size() - 1));
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, String name, String description, AtomicInteger value, Tags tags) {
+        Gauge.builder(name, value, AtomicInteger::get)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
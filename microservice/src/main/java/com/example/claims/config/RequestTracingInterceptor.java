@@ -1,47 +1,66 @@
 package com.example.claims.config;
 
-import java.util.UUID;
-
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Starts the trace span of each API request and puts it, with the method and URL, in the MDC.
+ * An async request is handled in two dispatches, possibly on different threads: the span is
+ * kept in a request attribute, cleared from the MDC when the first dispatch hands the request
+ * off, and bound again for the async dispatch instead of starting a second span.
+ */
 @Component
-public class RequestTracingInterceptor implements HandlerInterceptor {
+public class RequestTracingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTracingInterceptor.class);
 
-    private static final String TRACE_ID = "traceId";
-    private static final String SPAN_ID = "spanId";
     private static final String METHOD = "method";
     private static final String URL = "url";
     private static final String START_TIME = "startTime";
+    private static final String TRACE_ATTRIBUTE = RequestTracingInterceptor.class.getName() + ".trace";
+    private static final String START_TIME_ATTRIBUTE = RequestTracingInterceptor.class.getName() + ".startTime";
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        // Generate trace and span IDs
-        String traceId = UUID.randomUUID().toString();
-        String spanId = UUID.randomUUID().toString();
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Same request and span as the initial dispatch; the response already carries it
+            if (request.getAttribute(TRACE_ATTRIBUTE) instanceof TraceContext trace) {
+                bind(request, trace);
+            }
+            return true;
+        }
 
-        // Add to MDC for logging
-        MDC.put(TRACE_ID, traceId);
-        MDC.put(SPAN_ID, spanId);
-        MDC.put(METHOD, request.getMethod());
-        MDC.put(URL, request.getRequestURI());
-        MDC.put(START_TIME, String.valueOf(System.currentTimeMillis()));
+        // Continue the caller's trace (e.g. from API Gateway) or start a new one
+        TraceContext trace = TraceContext.fromTraceparent(request.getHeader(TraceContext.TRACEPARENT));
+        response.setHeader(TraceContext.TRACEPARENT, trace.toTraceparent());
+        request.setAttribute(TRACE_ATTRIBUTE, trace);
+        request.setAttribute(START_TIME_ATTRIBUTE, System.currentTimeMillis());
 
+        // Add to MDC for logging and for propagation to AWS calls
+        bind(request, trace);
         return true;
     }
 
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread goes back to the pool; afterCompletion runs after the async dispatch
+        clearMdc();
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
         try {
-            // Calculate duration
-            String startTimeStr = MDC.get(START_TIME);
-            if (startTimeStr != null) {
-                long startTime = Long.parseLong(startTimeStr);
-                long duration = System.currentTimeMillis() - startTime;
+            // Calculate duration; latency histograms come from the http.server.requests timer
+            long duration = -1;
+            if (request.getAttribute(START_TIME_ATTRIBUTE) instanceof Long startTime) {
+                duration = System.currentTimeMillis() - startTime;
                 MDC.put("duration", String.valueOf(duration));
             }
 
@@ -52,17 +71,28 @@ public class RequestTracingInterceptor implements HandlerInterceptor {
             if (ex != null) {
                 MDC.put("exception", ex.getClass().getSimpleName() + ": " + ex.getMessage());
             }
+            logger.debug("{} {} completed with status {} in {} ms", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), duration);
 
         } finally {
-            // Clean up MDC
-            MDC.remove(TRACE_ID);
-            MDC.remove(SPAN_ID);
-            MDC.remove(METHOD);
-            MDC.remove(URL);
-            MDC.remove(START_TIME);
-            MDC.remove("duration");
-            MDC.remove("status");
-            MDC.remove("exception");
+            clearMdc();
         }
     }
+
+    private static void bind(HttpServletRequest request, TraceContext trace) {
+        trace.bind();
+        MDC.put(METHOD, request.getMethod());
+        MDC.put(URL, request.getRequestURI());
+        MDC.put(START_TIME, String.valueOf(request.getAttribute(START_TIME_ATTRIBUTE)));
+    }
+
+    private static void clearMdc() {
+        TraceContext.unbind();
+        MDC.remove(METHOD);
+        MDC.remove(URL);
+        MDC.remove(START_TIME);
+        MDC.remove("duration");
+        MDC.remove("status");
+        MDC.remove("exception");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.example.claims.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+
+/**
+ * W3C trace context ({@code traceparent}) of the request being handled. IDs come from
+ * {@link ThreadLocalRandom}, which needs no locking, instead of {@code UUID.randomUUID()} and its
+ * shared {@code SecureRandom}; trace IDs are correlation keys, not secrets. A new trace ID starts
+ * with the current epoch seconds in 8 hex digits, as X-Ray expects, so the same ID is valid in
+ * both formats.
+ * <p>
+ * The context of the current request lives in the MDC under {@code traceId}, {@code spanId} and
+ * {@code traceFlags}, so it shows up in every log line and can be read by the AWS SDK
+ * interceptor that propagates it.
+ */
+public final class TraceContext {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    static final String TRACE_ID = "traceId";
+    static final String SPAN_ID = "spanId";
+    static final String TRACE_FLAGS = "traceFlags";
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final String VERSION = "00";
+    private static final String SAMPLED = "01";
+    private static final String ZERO_TRACE_ID = "0".repeat(32);
+    private static final String ZERO_SPAN_ID = "0".repeat(16);
+    // X-Ray drops trace IDs whose timestamp is older than its retention or in the future
+    private static final Duration XRAY_MAX_TRACE_AGE = Duration.ofDays(30);
+    private static final Duration XRAY_MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final String traceId;
+    private final String spanId;
+    private final String traceFlags;
+
+    private TraceContext(String traceId, String spanId, String traceFlags) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.traceFlags = traceFlags;
+    }
+
+    /**
+     * Starts the span of a request: continues the trace of a valid incoming {@code traceparent}
+     * header, or starts a new sampled trace when the header is missing or malformed.
+     */
+    public static TraceContext fromTraceparent(String traceparent) {
+        if (traceparent != null && isValid(traceparent)) {
+            return new TraceContext(traceparent.substring(3, 35), newSpanId(), traceparent.substring(53, 55));
+        }
+        return new TraceContext(newTraceId(), newSpanId(), SAMPLED);
+    }
+
+    /**
+     * Context of the request handled by this thread, or {@code null} outside a request.
+     */
+    public static TraceContext current() {
+        String traceId = MDC.get(TRACE_ID);
+        String spanId = MDC.get(SPAN_ID);
+        if (traceId == null || spanId == null) {
+            return null;
+        }
+        String traceFlags = MDC.get(TRACE_FLAGS);
+        return new TraceContext(traceId, spanId, traceFlags != null ? traceFlags : SAMPLED);
+    }
+
+    /**
+     * Wraps a task so that it runs with the trace context of the submitting thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        TraceContext context = current();
+        if (context == null) {
+            return task;
+        }
+        return () -> callWithin(context, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a call with the given context bound, for work that continues a request on another
+     * thread. The thread's own context, if any, is restored afterwards.
+     */
+    public static <T> T callWithin(TraceContext context, Supplier<T> call) {
+        if (context == null) {
+            return call.get();
+        }
+        TraceContext previous = current();
+        context.bind();
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                previous.bind();
+            } else {
+                unbind();
+            }
+        }
+    }
+
+    public void bind() {
+        MDC.put(TRACE_ID, traceId);
+        MDC.put(SPAN_ID, spanId);
+        MDC.put(TRACE_FLAGS, traceFlags);
+    }
+
+    public static void unbind() {
+        MDC.remove(TRACE_ID);
+        MDC.remove(SPAN_ID);
+        MDC.remove(TRACE_FLAGS);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public boolean isSampled() {
+        return (HexFormat.fromHexDigits(traceFlags) & 1) == 1;
+    }
+
+    /**
+     * The {@code traceparent} header naming this span as the parent of a downstream call.
+     */
+    public String toTraceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + "-" + traceFlags;
+    }
+
+    /**
+     * The same context as an X-Ray {@code X-Amzn-Trace-Id} header, which AWS services and Lambda
+     * pass on: the first 8 hex digits of the trace ID are the X-Ray timestamp. Returns
+     * {@code null} for a trace continued from a caller whose ID does not start with a recent
+     * timestamp, since X-Ray would drop it.
+     */
+    public String toXrayTraceHeader() {
+        long epochSeconds = Long.parseLong(traceId.substring(0, 8), 16);
+        Instant now = Instant.now();
+        Instant timestamp = Instant.ofEpochSecond(epochSeconds);
+        if (timestamp.isBefore(now.minus(XRAY_MAX_TRACE_AGE)) || timestamp.isAfter(now.plus(XRAY_MAX_CLOCK_SKEW))) {
+            return null;
+        }
+        return "Root=1-" + traceId.substring(0, 8) + "-" + traceId.substring(8)
+                + ";Parent=" + spanId + ";Sampled=" + (isSampled() ? "1" : "0");
+    }
+
+    // 00-<32 hex trace id>-<16 hex parent id>-<2 hex flags>, with neither ID all zeros
+    private static boolean isValid(String traceparent) {
+        if (traceparent.length() != 55 || !traceparent.startsWith(VERSION + "-")
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return false;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String parentId = traceparent.substring(36, 52);
+        return isLowerHex(traceId) && isLowerHex(parentId) && isLowerHex(traceparent.substring(53, 55))
+                && !traceId.equals(ZERO_TRACE_ID) && !parentId.equals(ZERO_SPAN_ID);
+    }
+
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 8 hex digits of epoch seconds followed by 24 random ones
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HEX.toHexDigits((int) Instant.now().getEpochSecond()) + HEX.toHexDigits(random.nextInt())
+                + HEX.toHexDigits(random.nextLong());
+    }
+
+    private static String newSpanId() {
+        return HEX.toHexDigits(nonZero(ThreadLocalRandom.current()));
+    }
+
+    private static long nonZero(ThreadLocalRandom random) {
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        return value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.claims.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeWithResponseStreamRequest;
+
+/**
+ * Carries the trace context of the calling request into AWS calls. Every request gets an
+ * {@code X-Amzn-Trace-Id} header, which Lambda hands to the function as
+ * {@code _X_AMZN_TRACE_ID}, also for event invocations, unless the trace ID cannot be used by
+ * X-Ray. Synchronous Lambda invocations also get the W3C {@code traceparent} in the client
+ * context ({@code context.client_context.custom}).
+ * <p>
+ * The context is captured when the call starts, on the calling thread, since the rest of an
+ * asynchronous call runs on SDK threads without the request's MDC.
+ */
+public class TracePropagationInterceptor implements ExecutionInterceptor {
+
+    static final String XRAY_TRACE_HEADER = "X-Amzn-Trace-Id";
+
+    private static final ExecutionAttribute<TraceContext> TRACE = new ExecutionAttribute<>("ClaimsTraceContext");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        TraceContext trace = TraceContext.current();
+        if (trace != null) {
+            executionAttributes.putAttribute(TRACE, trace);
+        }
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        TraceContext trace = executionAttributes.getAttribute(TRACE);
+        if (trace == null) {
+            return context.request();
+        }
+        // Lambda drops the client context of event invocations
+        if (context.request() instanceof InvokeRequest invoke
+                && invoke.invocationType() != InvocationType.EVENT && invoke.clientContext() == null) {
+            return invoke.toBuilder().clientContext(clientContext(trace)).build();
+        }
+        if (context.request() instanceof InvokeWithResponseStreamRequest invoke && invoke.clientContext() == null) {
+            return invoke.toBuilder().clientContext(clientContext(trace)).build();
+        }
+        return context.request();
+    }
+
+    @Override
+    public SdkHttpRequest modifyHttpRequest(Context.ModifyHttpRequest context, ExecutionAttributes executionAttributes) {
+        TraceContext trace = executionAttributes.getAttribute(TRACE);
+        if (trace == null || context.httpRequest().firstMatchingHeader(XRAY_TRACE_HEADER).isPresent()) {
+            return context.httpRequest();
+        }
+        String xrayTraceHeader = trace.toXrayTraceHeader();
+        if (xrayTraceHeader == null) {
+            return context.httpRequest();
+        }
+        return context.httpRequest().toBuilder()
+                .putHeader(XRAY_TRACE_HEADER, xrayTraceHeader)
+                .build();
+    }
+
+    // The IDs are hex digits, so the JSON needs no escaping
+    static String clientContext(TraceContext trace) {
+        String json = "{\"custom\":{\"" + TraceContext.TRACEPARENT + "\":\"" + trace.toTraceparent() + "\"}}";
+        return Base64.getEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
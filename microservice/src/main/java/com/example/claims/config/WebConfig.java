@@ -1,7 +1,15 @@
 package com.example.claims.config;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,10 +17,16 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final RequestTracingInterceptor requestTracingInterceptor;
+    private final int asyncThreads;
+    private final int asyncQueueCapacity;
 
     @Autowired
-    public WebConfig(RequestTracingInterceptor requestTracingInterceptor) {
+    public WebConfig(RequestTracingInterceptor requestTracingInterceptor,
+                     @Value("${app.mvc-async.threads:16}") int asyncThreads,
+                     @Value("${app.mvc-async.queue-capacity:64}") int asyncQueueCapacity) {
         this.requestTracingInterceptor = requestTracingInterceptor;
+        this.asyncThreads = asyncThreads;
+        this.asyncQueueCapacity = asyncQueueCapacity;
     }
 
     @Override
@@ -21,4 +35,23 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/**")
                 .excludePathPatterns("/api/v1/claims/health/**");
     }
-}
\ No newline at end of file
+
+    /**
+     * Streamed responses run on a bounded pool. Our own executor beans make Spring Boot skip its
+     * applicationTaskExecutor, which would leave MVC on an unbounded thread-per-task executor.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(mvcAsyncExecutor()));
+        AsyncTimeoutInterceptor timeouts = new AsyncTimeoutInterceptor();
+        configurer.registerCallableInterceptors(timeouts);
+        configurer.registerDeferredResultInterceptors(timeouts);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor mvcAsyncExecutor() {
+        return new ThreadPoolExecutor(asyncThreads, asyncThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(asyncQueueCapacity), ExecutorConfig.namedThreads("mvc-async-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.claims.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import com.example.claims.model.ClaimExportSummary;
+import com.example.claims.service.ClaimExporter;
+
+/**
+ * Runs the claim export from the command line and exits, e.g.
+ * <pre>
+ * java -jar claims-service.jar --spring.main.web-application-type=none \
+ *     --app.export.output=claims.ndjson.gz --app.export.segments=16
+ * </pre>
+ * An output of {@code -} writes to stdout, with logging moved to stderr (see
+ * {@code ExportOutputEnvironmentPostProcessor}); a {@code .gz} suffix compresses the file.
+ */
+@Component
+@ConditionalOnProperty("app.export.output")
+public class ClaimExportCommand implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimExportCommand.class);
+
+    private final ClaimExporter claimExporter;
+    private final ConfigurableApplicationContext context;
+    private final String output;
+    private final int segments;
+
+    @Autowired
+    public ClaimExportCommand(ClaimExporter claimExporter, ConfigurableApplicationContext context,
+                              @Value("${app.export.output}") String output,
+                              @Value("${app.export.segments:4}") int segments) {
+        this.claimExporter = claimExporter;
+        this.context = context;
+        this.output = output;
+        this.segments = segments;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            ClaimExportSummary summary = export();
+            logger.info("Exported {} claims in {} ms ({} claims/s, {} RCU)", summary.getClaims(),
+                    summary.getDurationMillis(), Math.round(summary.getClaimsPerSecond()),
+                    summary.getConsumedCapacityUnits());
+            exitCode = 0;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Claim export to {} failed", output, e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+
+    ClaimExportSummary export() throws IOException {
+        if ("-".equals(output)) {
+            // The exporter closes its stream; keep stdout open for the report
+            return claimExporter.export(StreamUtils.nonClosing(System.out), segments, false);
+        }
+        try (OutputStream out = Files.newOutputStream(Path.of(output))) {
+            return claimExporter.export(out, segments, output.endsWith(".gz"));
+        }
+    }
+}
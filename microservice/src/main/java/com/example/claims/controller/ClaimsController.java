@@ -1,21 +1,56 @@
 package com.example.claims.controller;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.claims.config.AsyncTimeoutInterceptor;
+import com.example.claims.model.BatchGetClaimsRequest;
+import com.example.claims.model.BatchGetClaimsResponse;
+import com.example.claims.model.BulkCreateClaimsResponse;
 import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimFields;
 import com.example.claims.model.ClaimSummary;
 import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.model.FileGenerationStatus;
+import com.example.claims.model.SummaryJob;
+import com.example.claims.repository.ClaimAlreadyExistsException;
+import com.example.claims.repository.CustomerClaimsPage;
+import com.example.claims.repository.DependencyUnavailableException;
+import com.example.claims.repository.IdempotencyKeyConflictException;
+import com.example.claims.repository.ReadConsistency;
+import com.example.claims.service.ClaimExporter;
 import com.example.claims.service.ClaimsService;
+import com.example.claims.service.FileGenerationService;
+import com.example.claims.service.SummaryJobService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -24,11 +59,28 @@ public class ClaimsController {
 
     private static final Logger logger = LoggerFactory.getLogger(ClaimsController.class);
 
+    private static final long SUMMARY_STREAM_TIMEOUT_MILLIS = 120_000L;
+
     private final ClaimsService claimsService;
+    private final SummaryJobService summaryJobService;
+    private final ObjectMapper objectMapper;
+    private final ClaimExporter claimExporter;
+    private final FileGenerationService fileGenerationService;
+    private final Duration exportTimeout;
+    private final Duration generateTimeout;
 
     @Autowired
-    public ClaimsController(ClaimsService claimsService) {
+    public ClaimsController(ClaimsService claimsService, SummaryJobService summaryJobService, ObjectMapper objectMapper,
+                            ClaimExporter claimExporter, FileGenerationService fileGenerationService,
+                            @Value("${app.export.timeout:1h}") Duration exportTimeout,
+                            @Value("${app.file-generation.request-timeout:150s}") Duration generateTimeout) {
         this.claimsService = claimsService;
+        this.summaryJobService = summaryJobService;
+        this.objectMapper = objectMapper;
+        this.claimExporter = claimExporter;
+        this.fileGenerationService = fileGenerationService;
+        this.exportTimeout = exportTimeout;
+        this.generateTimeout = generateTimeout;
     }
 
     @GetMapping("/")
@@ -37,19 +89,120 @@ public class ClaimsController {
         return ResponseEntity.ok("OK");
     }
 
+    @GetMapping(params = "customerId")
+    public ResponseEntity<StreamingResponseBody> listClaimsByCustomer(@RequestParam String customerId,
+                                                                      @RequestParam(defaultValue = "50") int limit,
+                                                                      @RequestParam(required = false) String cursor) {
+        logger.info("Listing claims for customer: {}", customerId);
+        CustomerClaimsPage page;
+        try {
+            page = claimsService.listClaimsByCustomer(customerId, limit, cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid claim listing request for customer {}: {}", customerId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Claims are written as they are read, so a large page is never held in memory
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("claims");
+                String nextCursor = page.forEach(generator::writeObject);
+                generator.writeEndArray();
+                generator.writeStringField("nextCursor", nextCursor);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClaims(@RequestParam(defaultValue = "4") int segments,
+                                                              @RequestParam(defaultValue = "false") boolean gzip,
+                                                              HttpServletRequest request) {
+        logger.info("Exporting all claims with {} scan segments (gzip={})", segments, gzip);
+        try {
+            ClaimExporter.validateSegments(segments);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid claim export request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> claimExporter.export(out, segments, gzip);
+        // A timeout mid-stream would hand the client a cleanly terminated but truncated file
+        AsyncTimeoutInterceptor.overrideTimeout(request, exportTimeout);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @GetMapping("/{claimId}")
-    public ResponseEntity<Claim> getClaim(@PathVariable String claimId) {
+    public ResponseEntity<Claim> getClaim(@PathVariable String claimId,
+                                          @RequestParam(required = false) String consistency) {
         logger.info("Retrieving claim with ID: {}", claimId);
+        ReadConsistency readConsistency = null;
+        if (consistency != null) {
+            try {
+                readConsistency = ReadConsistency.valueOf(consistency.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid read consistency '{}' for claim {}", consistency, claimId);
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        try {
+            Claim claim = readConsistency == null
+                    ? claimsService.getClaim(claimId)
+                    : claimsService.getClaim(claimId, readConsistency);
+            logger.info("Successfully retrieved claim: {}", claimId);
+            return ResponseEntity.ok(claim);
+        } catch (DependencyUnavailableException e) {
+            return overloaded(e);
+        } catch (Exception e) {
+            logger.error("Failed to retrieve claim {}: {}", claimId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping(path = "/{claimId}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getClaimFields(@PathVariable String claimId,
+                                                              @RequestParam String fields) {
+        logger.info("Retrieving fields [{}] of claim with ID: {}", fields, claimId);
+        Set<String> selected;
         try {
-            Claim claim = claimsService.getClaim(claimId);
+            selected = ClaimFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        try {
+            Map<String, Object> claim = claimsService.getClaim(claimId, selected);
             logger.info("Successfully retrieved claim: {}", claimId);
             return ResponseEntity.ok(claim);
+        } catch (DependencyUnavailableException e) {
+            return overloaded(e);
         } catch (Exception e) {
             logger.error("Failed to retrieve claim {}: {}", claimId, e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetClaimsResponse> getClaims(@Valid @RequestBody BatchGetClaimsRequest request) {
+        logger.info("Retrieving {} claims in batch", request.getClaimIds().size());
+        try {
+            BatchGetClaimsResponse response = claimsService.getClaims(request.getClaimIds());
+            logger.info("Batch retrieval returned {} claims, {} missing",
+                    response.getClaims().size(), response.getMissing().size());
+            return ResponseEntity.ok(response);
+        } catch (DependencyUnavailableException e) {
+            return overloaded(e);
+        } catch (Exception e) {
+            logger.error("Failed to retrieve claims in batch: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @PostMapping("/{claimId}/summarize")
     public ResponseEntity<ClaimSummary> summarizeClaim(@PathVariable String claimId) {
         logger.info("Starting claim summarization for ID: {}", claimId);
@@ -57,35 +210,162 @@ public class ClaimsController {
             ClaimSummary summary = claimsService.summarizeClaim(claimId);
             logger.info("Successfully generated summary for claim: {}", claimId);
             return ResponseEntity.ok(summary);
+        } catch (DependencyUnavailableException e) {
+            return overloaded(e);
         } catch (Exception e) {
             logger.error("Failed to summarize claim {}: {}", claimId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @PostMapping(path = "/{claimId}/summarize", params = "async=true")
+    public ResponseEntity<SummaryJob> submitSummaryJob(@PathVariable String claimId) {
+        logger.info("Queueing asynchronous summarization for claim ID: {}", claimId);
+        try {
+            SummaryJob job = summaryJobService.submit(claimId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/claims/summary-jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Summarize job queue is full, rejecting claim {}", claimId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    @GetMapping("/summary-jobs/{jobId}")
+    public CompletableFuture<ResponseEntity<SummaryJob>> getSummaryJob(@PathVariable String jobId,
+                                                                       @RequestParam(defaultValue = "0") long waitSeconds) {
+        return summaryJobService.awaitJob(jobId, Duration.ofSeconds(waitSeconds))
+                .thenApply(job -> job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job));
+    }
+
+    @GetMapping(path = "/{claimId}/summarize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSummary(@PathVariable String claimId) {
+        logger.info("Streaming claim summarization for ID: {}", claimId);
+        SseEmitter emitter = new SseEmitter(SUMMARY_STREAM_TIMEOUT_MILLIS);
+        try {
+            summaryJobService.streamSummary(claimId,
+                            (section, text) -> send(emitter, SseEmitter.event().name("section")
+                                    .data(Map.of("section", section, "text", text))))
+                    .whenComplete((summary, error) -> {
+                        if (error == null) {
+                            logger.info("Finished streaming summary for claim: {}", claimId);
+                            send(emitter, SseEmitter.event().name("complete").data(summary));
+                        } else {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            logger.error("Failed to stream summary for claim {}: {}", claimId, cause.getMessage(), cause);
+                            send(emitter, SseEmitter.event().name("error").data(Map.of("error", String.valueOf(cause.getMessage()))));
+                        }
+                        emitter.complete();
+                    });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Summarize job queue is full, rejecting stream for claim {}", claimId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // A dependency is overloaded or its circuit breaker is open; the client should retry later
+    private static <T> ResponseEntity<T> overloaded(DependencyUnavailableException e) {
+        logger.warn("Rejecting request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            // The client went away; the summary still completes and is cached
+            logger.debug("Dropping summary stream event: {}", e.getMessage());
+        }
+    }
+
     @PostMapping("/{claimId}/generate")
-    public ResponseEntity<String> generateClaimFiles(@PathVariable String claimId) {
+    public CompletableFuture<ResponseEntity<String>> generateClaimFiles(@PathVariable String claimId,
+                                                                        HttpServletRequest request) {
         logger.info("Starting file generation for claim ID: {}", claimId);
+        // The Lambda may take up to its socket timeout, well past the default async timeout
+        AsyncTimeoutInterceptor.overrideTimeout(request, generateTimeout);
+        // The request thread is released while the AWS calls are in flight
+        return claimsService.generateClaimFiles(claimId)
+                .thenApply(ignored -> {
+                    logger.info("Successfully initiated file generation for claim: {}", claimId);
+                    return ResponseEntity.ok("Files generation initiated successfully");
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof DependencyUnavailableException rejected) {
+                        return overloaded(rejected);
+                    }
+                    logger.error("Failed to generate files for claim {}: {}", claimId, e.getMessage(), e);
+                    return ResponseEntity.internalServerError().<String>build();
+                });
+    }
+
+    @PostMapping(path = "/{claimId}/generate", params = "async=true")
+    public ResponseEntity<FileGenerationStatus> submitFileGeneration(@PathVariable String claimId) {
+        logger.info("Queueing asynchronous file generation for claim ID: {}", claimId);
         try {
-            claimsService.generateClaimFiles(claimId);
-            logger.info("Successfully initiated file generation for claim: {}", claimId);
-            return ResponseEntity.ok("Files generation initiated successfully");
-        } catch (Exception e) {
-            logger.error("Failed to generate files for claim {}: {}", claimId, e.getMessage(), e);
-            return ResponseEntity.internalServerError().build();
+            FileGenerationStatus generation = fileGenerationService.submit(claimId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/claims/" + claimId + "/generate/status"))
+                    .body(generation);
+        } catch (RejectedExecutionException e) {
+            logger.warn("File generation queue is full, rejecting claim {}", claimId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
         }
     }
 
+    @GetMapping("/{claimId}/generate/status")
+    public CompletableFuture<ResponseEntity<FileGenerationStatus>> getFileGenerationStatus(@PathVariable String claimId) {
+        return fileGenerationService.getStatus(claimId)
+                .thenApply(generation -> generation == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(generation));
+    }
+
     @PostMapping
-    public ResponseEntity<Claim> createClaim(@Valid @RequestBody CreateClaimRequest request) {
+    public ResponseEntity<Claim> createClaim(@Valid @RequestBody CreateClaimRequest request,
+                                             @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
         logger.info("Creating new claim for customer: {}", request.getCustomerId());
         try {
-            Claim createdClaim = claimsService.createClaim(request);
+            Claim createdClaim = idempotencyKey == null
+                    ? claimsService.createClaim(request)
+                    : claimsService.createClaim(request, idempotencyKey);
             logger.info("Successfully created claim with ID: {}", createdClaim.getClaimId());
             return ResponseEntity.ok(createdClaim);
+        } catch (ClaimAlreadyExistsException e) {
+            logger.warn("Rejected create for existing claim: {}", request.getClaimId());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IdempotencyKeyConflictException e) {
+            logger.warn("Idempotency key conflict for claim {}: {}", request.getClaimId(), e.getMessage());
+            return e.isInProgress()
+                    ? ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build()
+                    : ResponseEntity.unprocessableEntity().build();
+        } catch (DependencyUnavailableException e) {
+            return overloaded(e);
         } catch (Exception e) {
             logger.error("Failed to create claim: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateClaimsResponse> createClaims(InputStream body) {
+        logger.info("Starting bulk claim ingestion");
+        try {
+            BulkCreateClaimsResponse response = claimsService.createClaims(body);
+            logger.info("Bulk ingestion finished: {} created, {} rejected", response.getCreated(), response.getRejected());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Failed to ingest claims: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.claims.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class BatchGetClaimsRequest {
+    @NotEmpty(message = "At least one claim ID is required")
+    @Size(max = 1000, message = "At most 1000 claim IDs can be requested at once")
+    private List<@NotBlank(message = "Claim IDs must not be blank") String> claimIds;
+
+    // Default constructor
+    public BatchGetClaimsRequest() {}
+
+    // Constructor with parameters
+    public BatchGetClaimsRequest(List<String> claimIds) {
+        this.claimIds = claimIds;
+    }
+
+    // Getters and Setters
+    public List<String> getClaimIds() {
+        return claimIds;
+    }
+
+    public void setClaimIds(List<String> claimIds) {
+        this.claimIds = claimIds;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGetClaimsRequest{" +
+                "claimIds=" + claimIds +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.claims.model;
+
+import java.util.List;
+
+public class BatchGetClaimsResponse {
+    private List<Claim> claims;
+    private List<String> missing;
+
+    // Default constructor
+    public BatchGetClaimsResponse() {}
+
+    // Constructor with parameters
+    public BatchGetClaimsResponse(List<Claim> claims, List<String> missing) {
+        this.claims = claims;
+        this.missing = missing;
+    }
+
+    // Getters and Setters
+    public List<Claim> getClaims() {
+        return claims;
+    }
+
+    public void setClaims(List<Claim> claims) {
+        this.claims = claims;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGetClaimsResponse{" +
+                "claims=" + claims +
+                ", missing=" + missing +
+                '}';
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.claims.model;
+
+import java.util.List;
+
+public class BulkCreateClaimsResponse {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<ItemResult> results;
+
+    // Inner class for per-record outcomes
+    public static class ItemResult {
+        public static final String CREATED = "CREATED";
+        public static final String INVALID = "INVALID";
+        public static final String CONFLICT = "CONFLICT";
+        public static final String FAILED = "FAILED";
+
+        private int index;
+        private String claimId;
+        private String status;
+        private String error;
+
+        public ItemResult() {}
+
+        public ItemResult(int index, String claimId, String status, String error) {
+            this.index = index;
+            this.claimId = claimId;
+            this.status = status;
+            this.error = error;
+        }
+
+        // Getters and Setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getClaimId() {
+            return claimId;
+        }
+
+        public void setClaimId(String claimId) {
+            this.claimId = claimId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return "ItemResult{" +
+                    "index=" + index +
+                    ", claimId='" + claimId + '\'' +
+                    ", status='" + status + '\'' +
+                    ", error='" + error + '\'' +
+                    '}';
+        }
+    }
+
+    // Default constructor
+    public BulkCreateClaimsResponse() {}
+
+    // Constructor with parameters
+    public BulkCreateClaimsResponse(int received, int created, int rejected, List<ItemResult> results) {
+        this.received = received;
+        this.created = created;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCreateClaimsResponse{" +
+                "received=" + received +
+                ", created=" + created +
+                ", rejected=" + rejected +
+                ", results=" + results +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.claims.model;
+
+public class ClaimExportSummary {
+    private long claims;
+    private long pages;
+    private int segments;
+    private long durationMillis;
+    private double consumedCapacityUnits;
+
+    // Default constructor
+    public ClaimExportSummary() {}
+
+    // Constructor with parameters
+    public ClaimExportSummary(long claims, long pages, int segments, long durationMillis, double consumedCapacityUnits) {
+        this.claims = claims;
+        this.pages = pages;
+        this.segments = segments;
+        this.durationMillis = durationMillis;
+        this.consumedCapacityUnits = consumedCapacityUnits;
+    }
+
+    // Derived throughput, for logs and the CLI report
+    public double getClaimsPerSecond() {
+        return durationMillis == 0 ? claims : claims * 1000.0 / durationMillis;
+    }
+
+    // Getters and Setters
+    public long getClaims() {
+        return claims;
+    }
+
+    public void setClaims(long claims) {
+        this.claims = claims;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public void setPages(long pages) {
+        this.pages = pages;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public double getConsumedCapacityUnits() {
+        return consumedCapacityUnits;
+    }
+
+    public void setConsumedCapacityUnits(double consumedCapacityUnits) {
+        this.consumedCapacityUnits = consumedCapacityUnits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ClaimExportSummary{claims=%d, pages=%d, segments=%d, durationMillis=%d, claimsPerSecond=%.1f, consumedCapacityUnits=%.1f}",
+                claims, pages, segments, durationMillis, getClaimsPerSecond(), consumedCapacityUnits);
+    }
+}
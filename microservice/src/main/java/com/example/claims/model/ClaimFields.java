@@ -0,0 +1,63 @@
+package com.example.claims.model;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The claim attributes a caller can select with {@code fields=}. The names are the JSON property
+ * names of {@link Claim} and the DynamoDB attribute names of the claims table.
+ */
+public final class ClaimFields {
+
+    public static final Set<String> ALL = Set.of(
+        "claimId", "customerId", "status", "description", "createdDate", "updatedDate", "notes", "amount");
+
+    private ClaimFields() {
+    }
+
+    /**
+     * Parses a comma-separated field list, keeping the caller's order and dropping duplicates.
+     *
+     * @throws IllegalArgumentException if the list is empty or names an unknown field
+     */
+    public static Set<String> parse(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(name)) {
+                throw new IllegalArgumentException("Unknown claim field: " + name);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("At least one claim field is required");
+        }
+        return selected;
+    }
+
+    /**
+     * Returns only the selected fields of the claim, in selection order.
+     */
+    public static Map<String, Object> select(Claim claim, Set<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            values.put(field, switch (field) {
+                case "claimId" -> claim.getClaimId();
+                case "customerId" -> claim.getCustomerId();
+                case "status" -> claim.getStatus();
+                case "description" -> claim.getDescription();
+                case "createdDate" -> claim.getCreatedDate();
+                case "updatedDate" -> claim.getUpdatedDate();
+                case "notes" -> claim.getNotes();
+                case "amount" -> claim.getAmount();
+                default -> throw new IllegalArgumentException("Unknown claim field: " + field);
+            });
+        }
+        return values;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.claims.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FileGenerationStatus {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private String claimId;
+    private String status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime dispatchedAt;
+    private LocalDateTime completedAt;
+    private List<String> files;
+    private String error;
+
+    // Default constructor
+    public FileGenerationStatus() {}
+
+    // Constructor with parameters
+    public FileGenerationStatus(String claimId, String status, LocalDateTime submittedAt, LocalDateTime dispatchedAt,
+                                LocalDateTime completedAt, List<String> files, String error) {
+        this.claimId = claimId;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.dispatchedAt = dispatchedAt;
+        this.completedAt = completedAt;
+        this.files = files;
+        this.error = error;
+    }
+
+    public boolean isDone() {
+        return DONE.equals(status) || FAILED.equals(status);
+    }
+
+    // Getters and Setters
+    public String getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(String claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public void setDispatchedAt(LocalDateTime dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<String> files) {
+        this.files = files;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "FileGenerationStatus{" +
+                "claimId='" + claimId + '\'' +
+                ", status='" + status + '\'' +
+                ", submittedAt=" + submittedAt +
+                ", dispatchedAt=" + dispatchedAt +
+                ", completedAt=" + completedAt +
+                ", files=" + files +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.claims.model;
+
+import java.time.LocalDateTime;
+
+public class SummaryJob {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String SUCCEEDED = "SUCCEEDED";
+    public static final String FAILED = "FAILED";
+
+    private String jobId;
+    private String claimId;
+    private String status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private ClaimSummary summary;
+    private String error;
+
+    // Default constructor
+    public SummaryJob() {}
+
+    // Constructor with parameters
+    public SummaryJob(String jobId, String claimId, String status, LocalDateTime submittedAt,
+                      LocalDateTime completedAt, ClaimSummary summary, String error) {
+        this.jobId = jobId;
+        this.claimId = claimId;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.completedAt = completedAt;
+        this.summary = summary;
+        this.error = error;
+    }
+
+    public boolean isDone() {
+        return SUCCEEDED.equals(status) || FAILED.equals(status);
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(String claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public ClaimSummary getSummary() {
+        return summary;
+    }
+
+    public void setSummary(ClaimSummary summary) {
+        this.summary = summary;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "SummaryJob{" +
+                "jobId='" + jobId + '\'' +
+                ", claimId='" + claimId + '\'' +
+                ", status='" + status + '\'' +
+                ", submittedAt=" + submittedAt +
+                ", completedAt=" + completedAt +
+                ", summary=" + summary +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.claims.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps the concurrent calls to one downstream dependency. A call beyond the limit fails at once
+ * with {@link BulkheadFullException} instead of waiting for a connection or a slow response.
+ * <p>
+ * The limit adapts with a latency gradient: every completed call compares its latency with a
+ * long-term average. While latency stays within {@code tolerance} times the average the limit
+ * grows by about the square root of itself; slower calls shrink it in proportion, down to half
+ * per sample. Throttling, 5xx and client-side failures (timeouts, connection errors) shrink the
+ * limit by {@value #BACKOFF_RATIO}. The limit only grows while at least half of it is in use, so
+ * a quiet dependency keeps the limit it has proven.
+ */
+public class AdaptiveBulkhead {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double SMOOTHING = 0.2;
+    // About the last 600 samples make up the long-term latency
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+
+    private final String name;
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile double limit;
+    private double longRtt;
+
+    public AdaptiveBulkhead(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                            MeterRegistry meterRegistry) {
+        this(name, true, initialLimit, minLimit, maxLimit, tolerance, meterRegistry);
+    }
+
+    private AdaptiveBulkhead(String name, boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                             double tolerance, MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs 1 <= min-limit <= max-limit");
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        if (meterRegistry == null) {
+            this.rejected = null;
+            return;
+        }
+        Gauge.builder("claims.bulkhead.limit", this, AdaptiveBulkhead::getLimit)
+                .description("Current concurrency limit of the bulkhead")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("claims.bulkhead.inflight", inFlight, AtomicInteger::get)
+                .description("Calls currently running through the bulkhead")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("claims.bulkhead.rejected")
+                .description("Calls rejected because the bulkhead was at its limit")
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A bulkhead that admits every call, for when bulkheads are switched off.
+     */
+    public static AdaptiveBulkhead unlimited(String name) {
+        return new AdaptiveBulkhead(name, false, Integer.MAX_VALUE, 1, Integer.MAX_VALUE, 1.0, null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Runs a blocking call within the limit.
+     *
+     * @throws BulkheadFullException if the limit is reached
+     */
+    public <T, E extends Exception> T execute(BulkheadCall<T, E> call) throws E {
+        if (!enabled) {
+            return call.call();
+        }
+        int load = acquire();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return call.call();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            release(load, System.nanoTime() - start, failure);
+        }
+    }
+
+    /**
+     * Starts an asynchronous call within the limit; the slot is held until the future completes.
+     * A rejected call returns a future failed with {@link BulkheadFullException}.
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        int load;
+        try {
+            load = acquire();
+        } catch (BulkheadFullException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            release(load, System.nanoTime() - start, e);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> release(load, System.nanoTime() - start, error));
+    }
+
+    private int acquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                throw new BulkheadFullException(name, (int) limit);
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    private void release(int load, long rttNanos, Throwable failure) {
+        inFlight.decrementAndGet();
+        onSample(load, rttNanos, failure != null && AwsErrors.isRetryable(failure));
+    }
+
+    synchronized void onSample(int load, long rttNanos, boolean overload) {
+        if (overload) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_RTT_ALPHA;
+        if (longRtt > 2 * rtt) {
+            // Let the average recover quickly after a period of slow calls
+            longRtt = longRtt * 0.95;
+        }
+        if (load < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    /**
+     * A blocking call that may throw a checked exception.
+     */
+    @FunctionalInterface
+    public interface BulkheadCall<T, E extends Exception> {
+        T call() throws E;
+    }
+}
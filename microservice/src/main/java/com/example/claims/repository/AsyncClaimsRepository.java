@@ -0,0 +1,36 @@
+package com.example.claims.repository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.claims.model.Claim;
+
+/**
+ * Non-blocking access to claims and the downstream calls made for them. Returned futures
+ * complete on SDK I/O threads, so callers must not block inside their continuations.
+ */
+public interface AsyncClaimsRepository {
+    CompletableFuture<Claim> findById(String claimId);
+    CompletableFuture<String> getClaimNotes(String claimId);
+    CompletableFuture<NotesPayload> getNotesPayload(String claimId);
+
+    /**
+     * Completes with the S3 ETag of the claim's {@code notes.txt}, or with {@code null} if the
+     * claim has no notes object.
+     */
+    CompletableFuture<String> getNotesETag(String claimId);
+    CompletableFuture<Void> generateClaimFiles(Claim claim, NotesPayload notes);
+
+    /**
+     * Queues the generate-files Lambda with an {@code Event} invocation; completes once Lambda
+     * has accepted the event, not when the files exist. The Lambda stores the generation ID as
+     * metadata of the files it writes.
+     */
+    CompletableFuture<Void> dispatchGenerateClaimFiles(Claim claim, NotesPayload notes, String generationId);
+
+    /**
+     * Completes with the S3 locations of the generated files if all of them were written by the
+     * given generation, otherwise with an empty list.
+     */
+    CompletableFuture<List<String>> findGeneratedFiles(String claimId, String generationId);
+}
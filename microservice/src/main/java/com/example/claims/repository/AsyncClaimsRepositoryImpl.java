@@ -0,0 +1,287 @@
+package com.example.claims.repository;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import com.example.claims.model.Claim;
+
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+@Repository
+public class AsyncClaimsRepositoryImpl implements AsyncClaimsRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncClaimsRepositoryImpl.class);
+
+    static final String NO_NOTES = "No additional notes available.";
+
+    // Written by the generate-files Lambda under {claimId}/
+    static final List<String> GENERATED_FILES = List.of("adjuster-notes.json", "customer-correspondence.json");
+    // User metadata (x-amz-meta-generation-id) the Lambda sets on the files of an event invocation
+    static final String GENERATION_ID_METADATA = "generation-id";
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final S3AsyncClient s3AsyncClient;
+    private final LambdaAsyncClient lambdaAsyncClient;
+    private final String s3BucketName;
+    private final String generateFilesLambdaName;
+    private final NotesCache notesCache;
+    private final NotesPayload.Mode notesPayloadMode;
+    private final long notesInlineThreshold;
+    private final boolean compressInlineNotes;
+    private final AdaptiveBulkhead dynamoDbBulkhead;
+    private final AdaptiveBulkhead s3Bulkhead;
+    private final AdaptiveBulkhead generateFilesBulkhead;
+    private final ResiliencePolicy resilience;
+
+    @Autowired
+    public AsyncClaimsRepositoryImpl(DynamoDbAsyncClient dynamoDbAsyncClient, S3AsyncClient s3AsyncClient,
+                                     LambdaAsyncClient lambdaAsyncClient, NotesCache notesCache,
+                                     @Value("${aws.s3.bucket-name}") String s3BucketName,
+                                     @Value("${aws.lambda.generate-files-function-name}") String generateFilesLambdaName,
+                                     @Value("${aws.lambda.generate-files.notes-payload:AUTO}") NotesPayload.Mode notesPayloadMode,
+                                     @Value("${aws.lambda.generate-files.inline-threshold:64KB}") DataSize notesInlineThreshold,
+                                     @Value("${aws.lambda.generate-files.compress-inline:false}") boolean compressInlineNotes,
+                                     Bulkheads bulkheads, ResiliencePolicy resilience) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.s3AsyncClient = s3AsyncClient;
+        this.lambdaAsyncClient = lambdaAsyncClient;
+        this.s3BucketName = s3BucketName;
+        this.generateFilesLambdaName = generateFilesLambdaName;
+        this.notesCache = notesCache;
+        this.notesPayloadMode = notesPayloadMode;
+        this.notesInlineThreshold = notesInlineThreshold.toBytes();
+        this.compressInlineNotes = compressInlineNotes;
+        this.dynamoDbBulkhead = bulkheads.dynamoDb();
+        this.s3Bulkhead = bulkheads.s3();
+        this.generateFilesBulkhead = bulkheads.generateFilesLambda();
+        this.resilience = resilience;
+    }
+
+    @Override
+    public CompletableFuture<Claim> findById(String claimId) {
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(ClaimsRepositoryImpl.TABLE_NAME)
+                .key(Map.of("claimId", AttributeValue.builder().s(claimId).build()))
+                .build();
+
+        return resilience.executeAsync(Bulkheads.DYNAMODB,
+                        () -> dynamoDbBulkhead.executeAsync(() -> dynamoDbAsyncClient.getItem(request)))
+                .thenApply(response -> response.hasItem() ? ClaimItemMapper.toClaim(response.item()) : null);
+    }
+
+    @Override
+    public CompletableFuture<String> getClaimNotes(String claimId) {
+        NotesCache.CachedNotes cached = notesCache.get(claimId);
+        if (cached == null) {
+            return fetchNotes(claimId, null);
+        }
+        // Revalidate the cached copy; an unchanged object is answered with 304 and no body
+        return fetchNotes(claimId, cached.eTag())
+                .exceptionallyCompose(e -> {
+                    if (!isNotModified(e)) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    try {
+                        return CompletableFuture.completedFuture(cached.read());
+                    } catch (IOException readError) {
+                        logger.warn("Cached notes of claim '{}' are no longer readable: {}", claimId, readError.getMessage());
+                        notesCache.invalidate(claimId);
+                        return fetchNotes(claimId, null);
+                    }
+                })
+                .exceptionally(e -> noNotes(claimId, e));
+    }
+
+    @Override
+    public CompletableFuture<NotesPayload> getNotesPayload(String claimId) {
+        String key = notesKey(claimId);
+        return switch (notesPayloadMode) {
+            case INLINE -> getClaimNotes(claimId).thenApply(NotesPayload::inline);
+            // The Lambda reads the object itself and handles a missing one
+            case REFERENCE -> CompletableFuture.completedFuture(NotesPayload.reference(s3BucketName, key, null, null, -1));
+            case AUTO -> s3Bulkhead.executeAsync(() ->
+                            s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(s3BucketName).key(key).build()))
+                    .thenCompose(head -> {
+                        if (head.contentLength() > notesInlineThreshold) {
+                            return CompletableFuture.completedFuture(NotesPayload.reference(
+                                    s3BucketName, key, head.eTag(), head.versionId(), head.contentLength()));
+                        }
+                        NotesCache.CachedNotes cached = notesCache.get(claimId);
+                        if (cached != null && cached.eTag().equals(head.eTag())) {
+                            try {
+                                return CompletableFuture.completedFuture(NotesPayload.inline(cached.read()));
+                            } catch (IOException e) {
+                                notesCache.invalidate(claimId);
+                            }
+                        }
+                        return getClaimNotes(claimId).thenApply(NotesPayload::inline);
+                    })
+                    .exceptionally(e -> NotesPayload.inline(noNotes(claimId, e)));
+        };
+    }
+
+    @Override
+    public CompletableFuture<String> getNotesETag(String claimId) {
+        HeadObjectRequest request = HeadObjectRequest.builder().bucket(s3BucketName).key(notesKey(claimId)).build();
+        return s3Bulkhead.executeAsync(() -> s3AsyncClient.headObject(request))
+                .thenApply(HeadObjectResponse::eTag)
+                .exceptionallyCompose(e -> isNotFound(e)
+                        ? CompletableFuture.completedFuture(null)
+                        : CompletableFuture.failedFuture(e));
+    }
+
+    private CompletableFuture<String> fetchNotes(String claimId, String ifNoneMatch) {
+        logger.info("Fetching notes from S3 bucket '{}' key '{}'/notes.txt", s3BucketName, claimId);
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(notesKey(claimId))
+                .ifNoneMatch(ifNoneMatch)
+                .build();
+
+        CompletableFuture<String> notes = s3Bulkhead.executeAsync(() ->
+                        s3AsyncClient.getObject(request, AsyncResponseTransformer.toBytes()))
+                .thenApply(bytes -> {
+                    notesCache.put(claimId, bytes.response().eTag(), bytes.asByteArray());
+                    return bytes.asUtf8String();
+                });
+        // A conditional request must report 304 to the caller, which still holds the cached copy
+        return ifNoneMatch != null ? notes : notes.exceptionally(e -> noNotes(claimId, e));
+    }
+
+    private String noNotes(String claimId, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof BulkheadFullException rejected) {
+            // S3 is overloaded, not empty; generating files without the notes would be wrong
+            throw rejected;
+        }
+        if (cause instanceof S3Exception s3Exception && s3Exception.statusCode() == 404) {
+            notesCache.invalidate(claimId);
+        }
+        logger.warn("No notes found for claim '{}' in bucket '{}': {}", claimId, s3BucketName, cause.getMessage());
+        return NO_NOTES;
+    }
+
+    private static String notesKey(String claimId) {
+        return claimId + "/notes.txt";
+    }
+
+    private static boolean isNotFound(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof S3Exception s3Exception && s3Exception.statusCode() == 404;
+    }
+
+    private static boolean isNotModified(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof S3Exception s3Exception && s3Exception.statusCode() == 304;
+    }
+
+    @Override
+    public CompletableFuture<Void> generateClaimFiles(Claim claim, NotesPayload notes) {
+        logger.info("Invoking generate-files Lambda {} for claim {} with notes {} (size {})", generateFilesLambdaName,
+                claim.getClaimId(), notes.isReference() ? "by reference" : "inline", notes.size());
+
+        // Invoke Lambda function with claim data and notes
+        InvokeRequest invokeRequest = InvokeRequest.builder()
+                .functionName(generateFilesLambdaName)
+                .payload(LambdaPayloadCodec.generateFilesRequest(claim, notes, compressInlineNotes))
+                .build();
+
+        // The response is checked inside the retried call so function errors count for the breaker
+        return resilience.executeAsync(generateFilesLambdaName, () -> generateFilesBulkhead.executeAsync(
+                        () -> lambdaAsyncClient.invoke(invokeRequest).thenAccept(this::checkGenerateFilesResponse)))
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        logger.error("Failed to invoke Lambda function {}: {}", generateFilesLambdaName, e.getMessage(), e);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchGenerateClaimFiles(Claim claim, NotesPayload notes, String generationId) {
+        logger.info("Queueing generate-files Lambda {} for claim {} with notes {} (size {})", generateFilesLambdaName,
+                claim.getClaimId(), notes.isReference() ? "by reference" : "inline", notes.size());
+        InvokeRequest invokeRequest = InvokeRequest.builder()
+                .functionName(generateFilesLambdaName)
+                .invocationType(InvocationType.EVENT)
+                .payload(LambdaPayloadCodec.generateFilesRequest(claim, notes, compressInlineNotes, generationId))
+                .build();
+
+        return resilience.executeAsync(generateFilesLambdaName,
+                        () -> generateFilesBulkhead.executeAsync(() -> lambdaAsyncClient.invoke(invokeRequest)))
+                .thenAccept(response -> {
+                    // Lambda answers 202 once the event is queued
+                    if (response.statusCode() != 202) {
+                        throw new RuntimeException("Lambda generate-files event not accepted: status " + response.statusCode());
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> findGeneratedFiles(String claimId, String generationId) {
+        // Matched on the stored generation ID rather than Last-Modified, which would depend on
+        // this pod's clock agreeing with S3's
+        List<CompletableFuture<String>> checks = GENERATED_FILES.stream()
+                .map(file -> claimId + "/" + file)
+                .map(key -> s3Bulkhead.executeAsync(() ->
+                                s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(s3BucketName).key(key).build()))
+                        .handle((head, e) -> {
+                            if (e != null) {
+                                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                                if (cause instanceof S3Exception s3Exception && s3Exception.statusCode() == 404) {
+                                    return null;
+                                }
+                                throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                            }
+                            return generationId.equals(head.metadata().get(GENERATION_ID_METADATA))
+                                    ? "s3://" + s3BucketName + "/" + key
+                                    : null;
+                        }))
+                .toList();
+
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<String> files = checks.stream().map(CompletableFuture::join).toList();
+                    return files.contains(null) ? List.of() : files;
+                });
+    }
+
+    private void checkGenerateFilesResponse(InvokeResponse response) {
+        String responsePayload = "<no payload>";
+        try {
+            responsePayload = response.payload() != null ? response.payload().asUtf8String() : "<no payload>";
+        } catch (Exception e) {
+            logger.warn("Failed to read response payload: {}", e.getMessage());
+        }
+
+        if (response.functionError() != null) {
+            // Bubble up Lambda failure details for visibility during local runs
+            throw new LambdaFunctionException(generateFilesLambdaName, response.functionError(), "payload=" + responsePayload);
+        }
+
+        logger.info("Lambda generate-files success. Status code {}, {} response bytes", response.statusCode(),
+                response.payload() != null ? response.payload().asByteArrayUnsafe().length : 0);
+        logger.debug("Lambda generate-files response payload: {}", responsePayload);
+    }
+}
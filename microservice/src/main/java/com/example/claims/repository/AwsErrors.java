@@ -0,0 +1,31 @@
+package com.example.claims.repository;
+
+import java.util.concurrent.CompletionException;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Classifies failures of AWS calls.
+ */
+final class AwsErrors {
+
+    private AwsErrors() {
+    }
+
+    static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Throttling, 5xx responses and client-side failures such as timeouts and connection errors:
+     * the dependency is overloaded or unavailable and the same request may succeed later.
+     */
+    static boolean isRetryable(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof SdkClientException) {
+            return true;
+        }
+        return cause instanceof AwsServiceException e && (e.isThrottlingException() || e.statusCode() >= 500);
+    }
+}
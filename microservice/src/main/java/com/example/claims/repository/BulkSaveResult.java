@@ -0,0 +1,14 @@
+package com.example.claims.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.example.claims.model.Claim;
+
+/**
+ * Outcome of {@link ClaimsRepository#saveAll}: the claims that were written, keyed by claim ID,
+ * and the IDs that were skipped because a claim with that ID is already stored. IDs in neither
+ * could not be written.
+ */
+public record BulkSaveResult(Map<String, Claim> saved, Set<String> existing) {
+}
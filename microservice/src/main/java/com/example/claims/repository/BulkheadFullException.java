@@ -0,0 +1,13 @@
+package com.example.claims.repository;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a call is rejected because its dependency's bulkhead is at its concurrency limit.
+ */
+public class BulkheadFullException extends DependencyUnavailableException {
+
+    public BulkheadFullException(String dependency, int limit) {
+        super("Too many concurrent calls to " + dependency + " (limit " + limit + ")", dependency, Duration.ofSeconds(1));
+    }
+}
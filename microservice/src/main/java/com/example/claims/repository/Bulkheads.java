@@ -0,0 +1,22 @@
+package com.example.claims.repository;
+
+/**
+ * The bulkheads of the service's downstream dependencies, one per dependency so a slow one
+ * cannot take the threads and connections the others need.
+ */
+public record Bulkheads(AdaptiveBulkhead dynamoDb, AdaptiveBulkhead s3, AdaptiveBulkhead summarizerLambda,
+                        AdaptiveBulkhead generateFilesLambda) {
+
+    public static final String DYNAMODB = "dynamodb";
+    public static final String S3 = "s3";
+    public static final String SUMMARIZER_LAMBDA = "summarizer-lambda";
+    public static final String GENERATE_FILES_LAMBDA = "generate-files-lambda";
+
+    /**
+     * Bulkheads that admit every call.
+     */
+    public static Bulkheads unlimited() {
+        return new Bulkheads(AdaptiveBulkhead.unlimited(DYNAMODB), AdaptiveBulkhead.unlimited(S3),
+                AdaptiveBulkhead.unlimited(SUMMARIZER_LAMBDA), AdaptiveBulkhead.unlimited(GENERATE_FILES_LAMBDA));
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.claims.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+import com.example.claims.model.CreateClaimRequest;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache in front of {@link ClaimsRepositoryImpl}. Claims are kept in a bounded
+ * in-process cache so repeated reads of the same claim do not hit DynamoDB; lookups for
+ * unknown IDs are cached for a shorter time. Writes invalidate the affected entry.
+ * Strongly consistent reads skip the cache and refresh it. Projected reads are answered from a
+ * cached full claim when there is one, but their partial results are never cached. Generated
+ * summaries are reused through {@link SummaryCache} while the claim and its S3 notes are
+ * unchanged.
+ */
+@Repository
+@Primary
+public class CachingClaimsRepository implements ClaimsRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingClaimsRepository.class);
+
+    private final ClaimsRepository delegate;
+    private final AsyncCache<String, Optional<Claim>> claimCache;
+    private final SummaryCache summaryCache;
+    private final AsyncClaimsRepository asyncClaimsRepository;
+
+    @Autowired
+    public CachingClaimsRepository(ClaimsRepositoryImpl delegate, SummaryCache summaryCache,
+                                   AsyncClaimsRepository asyncClaimsRepository, MeterRegistry meterRegistry,
+                                   @Value("${app.cache.claims.max-size:10000}") long maxSize,
+                                   @Value("${app.cache.claims.ttl:5m}") Duration ttl,
+                                   @Value("${app.cache.claims.negative-ttl:15s}") Duration negativeTtl) {
+        this.delegate = delegate;
+        this.summaryCache = summaryCache;
+        this.asyncClaimsRepository = asyncClaimsRepository;
+        this.claimCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ClaimExpiry(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimCache.synchronous(), "claims");
+    }
+
+    @Override
+    public Claim findById(String claimId) {
+        // The cache only stores the future of the load; the DynamoDB read runs on the calling
+        // thread afterwards, outside the map lock, which would pin a virtual thread's carrier.
+        // Concurrent misses for the same claim wait for that future instead of reading again
+        CompletableFuture<Optional<Claim>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Claim>> claim = claimCache.get(claimId, (id, executor) -> load);
+        if (claim == load) {
+            logger.debug("Claim cache miss for {}", claimId);
+            try {
+                load.complete(Optional.ofNullable(delegate.findById(claimId)));
+            } catch (RuntimeException | Error e) {
+                // A failed future is dropped from the cache, so the next read tries again
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return await(claim).orElse(null);
+    }
+
+    @Override
+    public Claim findById(String claimId, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.EVENTUAL) {
+            return findById(claimId);
+        }
+        Claim claim = delegate.findById(claimId, consistency);
+        claimCache.synchronous().put(claimId, Optional.ofNullable(claim));
+        return claim;
+    }
+
+    @Override
+    public Claim findById(String claimId, Set<String> fields) {
+        Optional<Claim> cached = claimCache.synchronous().getIfPresent(claimId);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        // The partial claim must not be cached, it would be served to full reads
+        return delegate.findById(claimId, fields);
+    }
+
+    @Override
+    public Map<String, Claim> findByIds(Collection<String> claimIds) {
+        Map<String, Claim> claims = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String claimId : claimIds) {
+            Optional<Claim> cached = claimCache.synchronous().getIfPresent(claimId);
+            if (cached == null) {
+                misses.add(claimId);
+            } else {
+                cached.ifPresent(claim -> claims.put(claimId, claim));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, Claim> loaded = delegate.findByIds(misses);
+            for (String claimId : misses) {
+                Claim claim = loaded.get(claimId);
+                claimCache.synchronous().put(claimId, Optional.ofNullable(claim));
+                if (claim != null) {
+                    claims.put(claimId, claim);
+                }
+            }
+        }
+        return claims;
+    }
+
+    @Override
+    public CustomerClaimsPage findByCustomerId(String customerId, int limit, String cursor) {
+        // Index reads are eventually consistent and not cached
+        return delegate.findByCustomerId(customerId, limit, cursor);
+    }
+
+    @Override
+    public void scanSegment(int segment, int totalSegments, ClaimScanSink sink) throws InterruptedException {
+        delegate.scanSegment(segment, totalSegments, sink);
+    }
+
+    @Override
+    public ClaimSummary generateSummary(Claim claim) {
+        String notesETag;
+        try {
+            notesETag = notesETag(claim);
+        } catch (RuntimeException e) {
+            logger.warn("Not caching the summary of claim {}, its notes could not be checked: {}",
+                    claim.getClaimId(), e.getMessage());
+            return delegate.generateSummary(claim);
+        }
+        ClaimSummary cached = summaryCache.get(claim, notesETag);
+        if (cached != null) {
+            logger.debug("Summary cache hit for claim {}", claim.getClaimId());
+            return cached;
+        }
+
+        ClaimSummary summary = delegate.generateSummary(claim);
+        if (isCacheable(summary)) {
+            summaryCache.put(claim, notesETag, summary);
+        }
+        return summary;
+    }
+
+    @Override
+    public ClaimSummary generateSummary(Claim claim, SummarySectionListener listener) {
+        String notesETag;
+        try {
+            notesETag = notesETag(claim);
+        } catch (RuntimeException e) {
+            logger.warn("Not caching the summary of claim {}, its notes could not be checked: {}",
+                    claim.getClaimId(), e.getMessage());
+            return delegate.generateSummary(claim, listener);
+        }
+        ClaimSummary cached = summaryCache.get(claim, notesETag);
+        if (cached != null && cached.getSummaries() != null) {
+            logger.debug("Summary cache hit for claim {}", claim.getClaimId());
+            ClaimSummary.Summaries summaries = cached.getSummaries();
+            listener.onSection("overall", summaries.getOverall());
+            listener.onSection("customer", summaries.getCustomer());
+            listener.onSection("adjuster", summaries.getAdjuster());
+            listener.onSection("recommendation", summaries.getRecommendation());
+            return cached;
+        }
+
+        ClaimSummary summary = delegate.generateSummary(claim, listener);
+        if (isCacheable(summary)) {
+            summaryCache.put(claim, notesETag, summary);
+        }
+        return summary;
+    }
+
+    // The summarizer reads notes.txt from S3 itself, so a cached summary is only valid for the
+    // same object; a HEAD request is far cheaper than the Lambda call it may save
+    private String notesETag(Claim claim) {
+        return await(asyncClaimsRepository.getNotesETag(claim.getClaimId()));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public Claim save(CreateClaimRequest request) {
+        try {
+            return delegate.save(request);
+        } finally {
+            claimCache.synchronous().invalidate(request.getClaimId());
+        }
+    }
+
+    @Override
+    public BulkSaveResult saveAll(List<CreateClaimRequest> requests) {
+        try {
+            return delegate.saveAll(requests);
+        } finally {
+            requests.forEach(request -> claimCache.synchronous().invalidate(request.getClaimId()));
+        }
+    }
+
+    private static boolean isCacheable(ClaimSummary summary) {
+        return summary != null && summary.getSummaries() != null
+                && !ClaimsRepositoryImpl.SUMMARY_FAILED.equals(summary.getSummaries().getOverall());
+    }
+
+    /**
+     * Expires found claims after the regular TTL and "not found" results after the
+     * (shorter) negative TTL, so a newly created claim becomes visible quickly.
+     */
+    private static final class ClaimExpiry implements Expiry<String, Optional<Claim>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        ClaimExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<Claim> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<Claim> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<Claim> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
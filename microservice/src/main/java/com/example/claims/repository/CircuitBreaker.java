@@ -0,0 +1,158 @@
+package com.example.claims.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Circuit breaker for one call target. It opens when at least {@code failureRate} of the last
+ * {@code windowSize} calls failed (once {@code minimumCalls} have been seen) and then rejects
+ * calls with {@link CircuitOpenException} for {@code openDuration}. After that,
+ * {@code halfOpenCalls} trial calls are let through: if all of them succeed the breaker closes,
+ * and the first failure opens it again.
+ * <p>
+ * Only failures that say something about the target's health are reported as failures; see
+ * {@link ResiliencePolicy}.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String target;
+    private final double failureRate;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final Counter rejected;
+    private final Counter opened;
+
+    // Ring buffer of the last outcomes, true for a failure
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private volatile State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String target, double failureRate, int windowSize, int minimumCalls, Duration openDuration,
+                          int halfOpenCalls, Clock clock, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.failureRate = failureRate;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        Gauge.builder("claims.circuit.state", this, breaker -> breaker.state.ordinal())
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("target", target)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("claims.circuit.rejected")
+                .description("Calls rejected because the circuit breaker was open")
+                .tag("target", target)
+                .register(meterRegistry);
+        this.opened = Counter.builder("claims.circuit.opened")
+                .description("Times the circuit breaker opened")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Reserves a call.
+     *
+     * @throws CircuitOpenException if the breaker is open, or half-open with all trial calls taken
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            Duration remaining = Duration.between(clock.instant(), openedAt.plus(openDuration));
+            if (remaining.isPositive()) {
+                rejected.increment();
+                throw new CircuitOpenException(target, Duration.ofSeconds(Math.max(1, remaining.toSeconds())));
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                rejected.increment();
+                throw new CircuitOpenException(target, Duration.ofSeconds(1));
+            }
+            halfOpenPermits--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                state = State.CLOSED;
+                next = 0;
+                recorded = 0;
+                failures = 0;
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures >= failureRate * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Releases a reserved call whose outcome says nothing about the target's health, such as a
+     * rejected request.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls - halfOpenSuccesses) {
+            halfOpenPermits++;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.instant();
+        opened.increment();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.claims.repository;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a call is rejected because the circuit breaker of its target is open.
+ */
+public class CircuitOpenException extends DependencyUnavailableException {
+
+    public CircuitOpenException(String target, Duration retryAfter) {
+        super("Circuit breaker for " + target + " is open", target, retryAfter);
+    }
+}
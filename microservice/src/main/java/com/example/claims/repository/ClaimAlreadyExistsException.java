@@ -0,0 +1,11 @@
+package com.example.claims.repository;
+
+/**
+ * Thrown when a claim is created with an ID that is already taken.
+ */
+public class ClaimAlreadyExistsException extends RuntimeException {
+
+    public ClaimAlreadyExistsException(String claimId, Throwable cause) {
+        super("Claim already exists: " + claimId, cause);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.claims.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Opaque pagination cursor for the customer index: the query's {@code LastEvaluatedKey} as
+ * compact JSON, base64url encoded. Decoding checks the key shape and that it belongs to the
+ * requested customer, so a cursor cannot be used to page through another customer's claims.
+ */
+final class ClaimCursor {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Set<String> KEY_ATTRIBUTES = Set.of("claimId", "customerId", "createdDate");
+
+    private ClaimCursor() {
+    }
+
+    static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            for (String name : KEY_ATTRIBUTES) {
+                generator.writeStringField(name, lastEvaluatedKey.get(name).s());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            // Writing to an in-memory buffer does not fail
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or not for this customer
+     */
+    static Map<String, AttributeValue> decode(String cursor, String customerId) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(Base64.getUrlDecoder().decode(cursor))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String name;
+            while ((name = parser.nextFieldName()) != null) {
+                if (!KEY_ATTRIBUTES.contains(name) || parser.nextToken() != JsonToken.VALUE_STRING) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                key.put(name, AttributeValue.fromS(parser.getText()));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (key.size() != KEY_ATTRIBUTES.size() || !customerId.equals(key.get("customerId").s())) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return key;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.claims.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.CreateClaimRequest;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Maps between DynamoDB items and {@link Claim}s without reflection. Timestamps are stored as
+ * ISO-8601 local date-times; the common {@code yyyy-MM-ddTHH:mm:ss[.fraction]} shape is parsed
+ * and formatted by hand, anything else goes through {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+ */
+public final class ClaimItemMapper {
+
+    private ClaimItemMapper() {
+    }
+
+    public static Claim toClaim(Map<String, AttributeValue> item) {
+        AttributeValue notesValue = item.get("notes");
+        List<String> notes;
+        if (notesValue != null && notesValue.hasL()) {
+            List<AttributeValue> values = notesValue.l();
+            notes = new ArrayList<>(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                notes.add(values.get(i).s());
+            }
+        } else {
+            notes = new ArrayList<>();
+        }
+
+        return new Claim(
+            item.get("claimId").s(),
+            item.get("customerId").s(),
+            item.get("status").s(),
+            item.get("description").s(),
+            parseTimestamp(item.get("createdDate").s()),
+            parseTimestamp(item.get("updatedDate").s()),
+            notes,
+            Double.parseDouble(item.get("amount").n())
+        );
+    }
+
+    /**
+     * Maps a projected item. Attributes that were not read stay {@code null} on the claim.
+     */
+    public static Claim toPartialClaim(Map<String, AttributeValue> item) {
+        Claim claim = new Claim();
+        claim.setClaimId(string(item, "claimId"));
+        claim.setCustomerId(string(item, "customerId"));
+        claim.setStatus(string(item, "status"));
+        claim.setDescription(string(item, "description"));
+        String createdDate = string(item, "createdDate");
+        claim.setCreatedDate(createdDate != null ? parseTimestamp(createdDate) : null);
+        String updatedDate = string(item, "updatedDate");
+        claim.setUpdatedDate(updatedDate != null ? parseTimestamp(updatedDate) : null);
+        AttributeValue notes = item.get("notes");
+        if (notes != null && notes.hasL()) {
+            claim.setNotes(notes.l().stream().map(AttributeValue::s).toList());
+        }
+        AttributeValue amount = item.get("amount");
+        if (amount != null) {
+            claim.setAmount(Double.parseDouble(amount.n()));
+        }
+        return claim;
+    }
+
+    public static Map<String, AttributeValue> toItem(CreateClaimRequest request, LocalDateTime now) {
+        // Both dates are the same instant, so format once and share the (immutable) value
+        AttributeValue timestamp = AttributeValue.fromS(formatTimestamp(now));
+        return Map.of(
+            "claimId", AttributeValue.fromS(request.getClaimId()),
+            "customerId", AttributeValue.fromS(request.getCustomerId()),
+            "status", AttributeValue.fromS(request.getStatus()),
+            "description", AttributeValue.fromS(request.getDescription()),
+            "amount", AttributeValue.fromN(String.valueOf(request.getAmount())),
+            "createdDate", timestamp,
+            "updatedDate", timestamp
+        );
+    }
+
+    public static Claim toClaim(CreateClaimRequest request, LocalDateTime now) {
+        return new Claim(
+            request.getClaimId(),
+            request.getCustomerId(),
+            request.getStatus(),
+            request.getDescription(),
+            now,
+            now,
+            new ArrayList<>(), // Empty notes list for new claims
+            request.getAmount()
+        );
+    }
+
+    /**
+     * Formats exactly like {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds are always
+     * written and the fraction is omitted when zero, otherwise written without trailing zeros.
+     */
+    static String formatTimestamp(LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+
+        byte[] out = new byte[29];
+        writeDigits(out, 0, year, 4);
+        out[4] = '-';
+        writeDigits(out, 5, value.getMonthValue(), 2);
+        out[7] = '-';
+        writeDigits(out, 8, value.getDayOfMonth(), 2);
+        out[10] = 'T';
+        writeDigits(out, 11, value.getHour(), 2);
+        out[13] = ':';
+        writeDigits(out, 14, value.getMinute(), 2);
+        out[16] = ':';
+        writeDigits(out, 17, value.getSecond(), 2);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano != 0) {
+            out[19] = '.';
+            writeDigits(out, 20, nano, 9);
+            length = 29;
+            while (out[length - 1] == '0') {
+                length--;
+            }
+        }
+        return new String(out, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    static LocalDateTime parseTimestamp(String value) {
+        int length = value.length();
+        if (length < 19 || length == 20 || length > 29
+                || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':' || value.charAt(16) != ':'
+                || (length > 19 && value.charAt(19) != '.')) {
+            return LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+
+        int year = readDigits(value, 0, 4);
+        int month = readDigits(value, 5, 2);
+        int day = readDigits(value, 8, 2);
+        int hour = readDigits(value, 11, 2);
+        int minute = readDigits(value, 14, 2);
+        int second = readDigits(value, 17, 2);
+        int nano = 0;
+        if (length > 19) {
+            int fractionDigits = length - 20;
+            nano = readDigits(value, 20, fractionDigits);
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            // A non-digit where a digit was expected; let the formatter report it
+            return LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        // LocalDateTime.of validates the ranges, e.g. rejects month 13
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static String string(Map<String, AttributeValue> item, String name) {
+        AttributeValue value = item.get(name);
+        return value != null ? value.s() : null;
+    }
+
+    private static void writeDigits(byte[] out, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // Returns -1 if any character is not a digit
+    private static int readDigits(String value, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
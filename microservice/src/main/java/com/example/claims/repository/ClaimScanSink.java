@@ -0,0 +1,15 @@
+package com.example.claims.repository;
+
+import java.util.List;
+
+import com.example.claims.model.Claim;
+
+/**
+ * Receives the pages of a table scan. Blocking in {@link #accept} pauses the scan, which is how
+ * a slow consumer applies backpressure.
+ */
+@FunctionalInterface
+public interface ClaimScanSink {
+
+    void accept(List<Claim> claims, double consumedCapacityUnits) throws InterruptedException;
+}
@@ -1,12 +1,45 @@
 package com.example.claims.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import com.example.claims.model.Claim;
 import com.example.claims.model.ClaimSummary;
 import com.example.claims.model.CreateClaimRequest;
 
 public interface ClaimsRepository {
     Claim findById(String claimId);
+    Claim findById(String claimId, ReadConsistency consistency);
+
+    /**
+     * Reads only the given attributes of a claim; the other fields of the returned claim are
+     * {@code null}. Callers must not treat the result as a complete claim.
+     */
+    Claim findById(String claimId, Set<String> fields);
+
+    Map<String, Claim> findByIds(Collection<String> claimIds);
+
+    /**
+     * Prepares a page of up to {@code limit} claims of a customer, newest first, starting after
+     * {@code cursor} (or at the beginning if it is {@code null}).
+     *
+     * @throws IllegalArgumentException if the cursor is invalid for this customer
+     */
+    CustomerClaimsPage findByCustomerId(String customerId, int limit, String cursor);
+
+    /**
+     * Scans one segment of a parallel scan of the whole table, passing each page to the sink.
+     */
+    void scanSegment(int segment, int totalSegments, ClaimScanSink sink) throws InterruptedException;
+
     ClaimSummary generateSummary(Claim claim);
-    void generateClaimFiles(Claim claim);
+    ClaimSummary generateSummary(Claim claim, SummarySectionListener listener);
     Claim save(CreateClaimRequest request);
+
+    /**
+     * Creates the claims without replacing any that already exist.
+     */
+    BulkSaveResult saveAll(List<CreateClaimRequest> requests);
 }
\ No newline at end of file
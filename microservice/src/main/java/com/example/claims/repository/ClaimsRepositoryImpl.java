@@ -1,15 +1,27 @@
 package com.example.claims.repository;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
@@ -20,222 +32,387 @@ import com.example.claims.model.CreateClaimRequest;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.model.InvokeRequest;
 import software.amazon.awssdk.services.lambda.model.InvokeResponse;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeWithResponseStreamRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeWithResponseStreamResponseHandler;
 
 @Repository
 public class ClaimsRepositoryImpl implements ClaimsRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(ClaimsRepositoryImpl.class);
 
+    static final String SUMMARY_FAILED = "Summary generation failed";
+
+    static final String TABLE_NAME = "claims";
+    // GSI with hash key customerId and range key createdDate
+    static final String CUSTOMER_INDEX = "customerId-createdDate-index";
+    // DynamoDB limit for keys in a single BatchGetItem call
+    private static final int BATCH_GET_MAX_KEYS = 100;
+    // Claims per TransactWriteItems call; DynamoDB allows 100, but each item costs two writes
+    private static final int TRANSACT_WRITE_MAX_ITEMS = 25;
+    // Cancellation reason codes of TransactWriteItems
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+    private static final String NO_CANCELLATION = "None";
+    private static final int BATCH_MAX_RETRIES = 8;
+    // Items per Scan page; keeps pages well below the 1 MB response limit for typical claims
+    private static final int SCAN_PAGE_SIZE = 500;
+    private static final long BATCH_BACKOFF_BASE_MILLIS = 25;
+    private static final long BATCH_BACKOFF_MAX_MILLIS = 2_000;
+
     private final DynamoDbClient dynamoDbClient;
-    private final S3Client s3Client;
+    private final HedgedItemReader hedgedItemReader;
     private final LambdaClient lambdaClient;
-    private final String s3BucketName;
+    private final LambdaAsyncClient lambdaAsyncClient;
+    private final Executor batchExecutor;
     private final String summarizerLambdaName;
-    private final String generateFilesLambdaName;
+    private final boolean summarizerResponseStreaming;
+    private final SummaryBatcher summaryBatcher;
+    private final AdaptiveBulkhead dynamoDbBulkhead;
+    private final AdaptiveBulkhead summarizerBulkhead;
+    private final ResiliencePolicy resilience;
 
     @Autowired
-    public ClaimsRepositoryImpl(DynamoDbClient dynamoDbClient, S3Client s3Client, LambdaClient lambdaClient,
-                               @Value("${aws.s3.bucket-name}") String s3BucketName,
+    public ClaimsRepositoryImpl(DynamoDbClient dynamoDbClient, HedgedItemReader hedgedItemReader, LambdaClient lambdaClient,
+                               LambdaAsyncClient lambdaAsyncClient,
+                               @Qualifier("batchIoExecutor") Executor batchExecutor,
                                @Value("${aws.lambda.function-name}") String summarizerLambdaName,
-                               @Value("${aws.lambda.generate-files-function-name}") String generateFilesLambdaName) {
+                               @Value("${aws.lambda.response-streaming:false}") boolean summarizerResponseStreaming,
+                               SummaryBatcher summaryBatcher, Bulkheads bulkheads, ResiliencePolicy resilience) {
         this.dynamoDbClient = dynamoDbClient;
-        this.s3Client = s3Client;
+        this.hedgedItemReader = hedgedItemReader;
         this.lambdaClient = lambdaClient;
-        this.s3BucketName = s3BucketName;
+        this.lambdaAsyncClient = lambdaAsyncClient;
+        this.batchExecutor = batchExecutor;
         this.summarizerLambdaName = summarizerLambdaName;
-        this.generateFilesLambdaName = generateFilesLambdaName;
+        this.summarizerResponseStreaming = summarizerResponseStreaming;
+        this.summaryBatcher = summaryBatcher;
+        this.dynamoDbBulkhead = bulkheads.dynamoDb();
+        this.summarizerBulkhead = bulkheads.summarizerLambda();
+        this.resilience = resilience;
     }
 
     @Override
     public Claim findById(String claimId) {
+        return findById(claimId, ReadConsistency.EVENTUAL);
+    }
+
+    @Override
+    public Claim findById(String claimId, ReadConsistency consistency) {
         GetItemRequest request = GetItemRequest.builder()
-                .tableName("claims")
+                .tableName(TABLE_NAME)
                 .key(Map.of("claimId", AttributeValue.builder().s(claimId).build()))
+                .consistentRead(consistency == ReadConsistency.STRONG)
                 .build();
 
-        GetItemResponse response = dynamoDbClient.getItem(request);
+        // A hedged duplicate of a strong read would cost twice the capacity for the same answer
+        GetItemResponse response = dynamoDb(() ->
+                consistency == ReadConsistency.EVENTUAL && hedgedItemReader.isEnabled()
+                        ? hedgedItemReader.getItem(request)
+                        : dynamoDbClient.getItem(request));
         if (response.hasItem()) {
-            return mapToClaim(response.item());
+            return ClaimItemMapper.toClaim(response.item());
         }
         return null;
     }
 
     @Override
-    public ClaimSummary generateSummary(Claim claim) {
-        // Prepare payload for Lambda with only claim details
-        String payload = String.format(
-            "{\"claimId\": \"%s\", \"description\": \"%s\", \"status\": \"%s\", \"customerId\": \"%s\"}",
-            claim.getClaimId(),
-            claim.getDescription(),
-            claim.getStatus(),
-            claim.getCustomerId()
-        );
+    public Claim findById(String claimId, Set<String> fields) {
+        // Placeholders for every name: "status" is a DynamoDB reserved word. The key is always
+        // projected so that an existing item never comes back empty.
+        Map<String, String> names = new HashMap<>();
+        names.put("#claimId", "claimId");
+        fields.forEach(field -> names.put("#" + field, field));
 
-        // Invoke Lambda function
-        InvokeRequest invokeRequest = InvokeRequest.builder()
-                .functionName(summarizerLambdaName)
-                .payload(SdkBytes.fromUtf8String(payload))
+        GetItemRequest request = GetItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(Map.of("claimId", AttributeValue.builder().s(claimId).build()))
+                .projectionExpression(String.join(", ", names.keySet()))
+                .expressionAttributeNames(names)
                 .build();
 
-        InvokeResponse invokeResponse = lambdaClient.invoke(invokeRequest);
-
-        // Parse response
-        String responsePayload = invokeResponse.payload().asUtf8String();
-
-        // Parse the JSON response to extract summaries
-        ClaimSummary.Summaries summaries = parseSummariesFromResponse(responsePayload);
-
-        return new ClaimSummary(
-            claim.getClaimId(),
-            summaries,
-            java.time.LocalDateTime.now(),
-            "anthropic.claude-3-sonnet-20240229-v1:0"
-        );
+        GetItemResponse response = dynamoDb(() -> dynamoDbClient.getItem(request));
+        if (response.hasItem()) {
+            return ClaimItemMapper.toPartialClaim(response.item());
+        }
+        return null;
     }
 
     @Override
-    public void generateClaimFiles(Claim claim) {
-        // Get claim notes from S3
-        String notesContent = getClaimNotesFromS3(claim.getClaimId());
-
-        // Prepare payload for Lambda with claim data and notes
-        String payload = String.format(
-            "{\"claimId\": \"%s\", \"claimData\": {\"claimId\": \"%s\", \"status\": \"%s\", \"customerId\": \"%s\", \"description\": \"%s\"}, \"notes\": \"%s\"}",
-            claim.getClaimId(),
-            claim.getClaimId(),
-            claim.getStatus(),
-            claim.getCustomerId(),
-            claim.getDescription(),
-            notesContent
-        );
+    public Map<String, Claim> findByIds(Collection<String> claimIds) {
+        List<String> ids = claimIds.stream().distinct().toList();
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BATCH_GET_MAX_KEYS) {
+            chunks.add(ids.subList(i, Math.min(i + BATCH_GET_MAX_KEYS, ids.size())));
+        }
 
-        logger.info("Invoking generate-files Lambda {} with payload: {}", generateFilesLambdaName, payload);
+        if (chunks.size() <= 1) {
+            return chunks.isEmpty() ? Map.of() : batchGetChunk(chunks.get(0));
+        }
 
+        // Chunks are independent, so fetch them in parallel and merge the results
+        List<CompletableFuture<Map<String, Claim>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> batchGetChunk(chunk), batchExecutor))
+                .toList();
+        Map<String, Claim> claims = new HashMap<>();
         try {
-            // Invoke Lambda function and surface errors so we can see why S3 files were not produced
-            InvokeRequest invokeRequest = InvokeRequest.builder()
-                .functionName(generateFilesLambdaName)
-                .payload(SdkBytes.fromUtf8String(payload))
-                .build();
+            for (CompletableFuture<Map<String, Claim>> future : futures) {
+                claims.putAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return claims;
+    }
 
-            InvokeResponse response = lambdaClient.invoke(invokeRequest);
+    private Map<String, Claim> batchGetChunk(List<String> claimIds) {
+        List<Map<String, AttributeValue>> keys = claimIds.stream()
+                .map(id -> Map.of("claimId", AttributeValue.builder().s(id).build()))
+                .toList();
+        Map<String, KeysAndAttributes> requestItems = Map.of(TABLE_NAME, KeysAndAttributes.builder().keys(keys).build());
 
-            String responsePayload = "<no payload>";
-            try {
-                responsePayload = response.payload() != null ? response.payload().asUtf8String() : "<no payload>";
-            } catch (Exception e) {
-                logger.warn("Failed to read response payload: {}", e.getMessage());
+        Map<String, Claim> claims = new HashMap<>();
+        for (int attempt = 0; ; attempt++) {
+            BatchGetItemRequest request = BatchGetItemRequest.builder()
+                    .requestItems(requestItems)
+                    .build();
+            BatchGetItemResponse response = dynamoDb(() -> dynamoDbClient.batchGetItem(request));
+            for (Map<String, AttributeValue> item : response.responses().getOrDefault(TABLE_NAME, List.of())) {
+                Claim claim = ClaimItemMapper.toClaim(item);
+                claims.put(claim.getClaimId(), claim);
             }
 
-            if (response.functionError() != null) {
-                // Bubble up Lambda failure details for visibility during local runs
-                String err = "Lambda generate-files failed: " + response.functionError() + " payload=" + responsePayload;
-                logger.error(err);
-                throw new RuntimeException(err);
+            if (!response.hasUnprocessedKeys() || response.unprocessedKeys().isEmpty()) {
+                return claims;
             }
-
-            logger.info("Lambda generate-files success. Status code {} payload: {}", response.statusCode(), responsePayload);
-        } catch (Exception e) {
-            logger.error("Failed to invoke Lambda function {}: {}", generateFilesLambdaName, e.getMessage(), e);
-            throw new RuntimeException("Lambda invocation failed: " + e.getMessage(), e);
+            if (attempt >= BATCH_MAX_RETRIES) {
+                throw new RuntimeException("BatchGetItem left keys unprocessed after " + attempt + " retries");
+            }
+            logger.debug("BatchGetItem returned unprocessed keys on attempt {}, retrying", attempt + 1);
+            requestItems = response.unprocessedKeys();
+            backoff(attempt);
         }
     }
 
-    private String getClaimNotesFromS3(String claimId) {
+    // Exponential backoff with full jitter, as recommended for DynamoDB batch retries
+    private static void backoff(int attempt) {
+        long ceiling = Math.min(BATCH_BACKOFF_MAX_MILLIS, BATCH_BACKOFF_BASE_MILLIS << Math.min(attempt, 16));
         try {
-            logger.info("Fetching notes from S3 bucket '{}' key '{}'/notes.txt", s3BucketName, claimId);
-            GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(s3BucketName)
-                    .key(claimId + "/notes.txt")
-                    .build();
-
-            return s3Client.getObjectAsBytes(request).asString(StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            logger.warn("No notes found for claim '{}' in bucket '{}': {}", claimId, s3BucketName, e.getMessage());
-            return "No additional notes available.";
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying DynamoDB batch request", e);
         }
     }
 
-    private ClaimSummary.Summaries parseSummariesFromResponse(String responsePayload) {
-        // Simple JSON parsing - extract values from the response
-        // Expected format: {"claimId":"...", "summaries":{"overall":"...", "customer":"...", "adjuster":"...", "recommendation":"..."}, "generatedAt":"...", "modelUsed":"..."}
+    @Override
+    public CustomerClaimsPage findByCustomerId(String customerId, int limit, String cursor) {
+        Map<String, AttributeValue> startKey = cursor == null ? null : ClaimCursor.decode(cursor, customerId);
+        return sink -> {
+            Map<String, AttributeValue> exclusiveStartKey = startKey;
+            int remaining = limit;
+            // A Query response stops at 1 MB, so a page may take several calls; only one
+            // response is held at a time
+            while (true) {
+                QueryRequest request = QueryRequest.builder()
+                        .tableName(TABLE_NAME)
+                        .indexName(CUSTOMER_INDEX)
+                        .keyConditionExpression("customerId = :customerId")
+                        .expressionAttributeValues(Map.of(":customerId", AttributeValue.fromS(customerId)))
+                        .scanIndexForward(false)
+                        .limit(remaining)
+                        .exclusiveStartKey(exclusiveStartKey)
+                        .build();
+                QueryResponse response = dynamoDb(() -> dynamoDbClient.query(request));
+                for (Map<String, AttributeValue> item : response.items()) {
+                    sink.accept(ClaimItemMapper.toClaim(item));
+                }
+                remaining -= response.count();
+                if (!response.hasLastEvaluatedKey() || response.lastEvaluatedKey().isEmpty()) {
+                    return null;
+                }
+                if (remaining <= 0) {
+                    return ClaimCursor.encode(response.lastEvaluatedKey());
+                }
+                exclusiveStartKey = response.lastEvaluatedKey();
+            }
+        };
+    }
 
-        ClaimSummary.Summaries summaries = new ClaimSummary.Summaries();
+    @Override
+    public void scanSegment(int segment, int totalSegments, ClaimScanSink sink) throws InterruptedException {
+        // Not bulkheaded: the export executor already caps concurrent scans, and a rejected
+        // page would abort the whole export. Retried per page, since the client has no SDK retries
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            ScanRequest request = ScanRequest.builder()
+                    .tableName(TABLE_NAME)
+                    .segment(segment)
+                    .totalSegments(totalSegments)
+                    .limit(SCAN_PAGE_SIZE)
+                    .exclusiveStartKey(exclusiveStartKey)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                    .build();
+            ScanResponse response = resilience.execute(Bulkheads.DYNAMODB, () -> dynamoDbClient.scan(request));
+            List<Claim> claims = new ArrayList<>(response.items().size());
+            for (Map<String, AttributeValue> item : response.items()) {
+                claims.add(ClaimItemMapper.toClaim(item));
+            }
+            double capacity = response.consumedCapacity() != null && response.consumedCapacity().capacityUnits() != null
+                    ? response.consumedCapacity().capacityUnits() : 0.0;
+            sink.accept(claims, capacity);
+            exclusiveStartKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                    ? response.lastEvaluatedKey() : null;
+        } while (exclusiveStartKey != null);
+    }
 
+    @Override
+    public ClaimSummary generateSummary(Claim claim) {
+        ClaimSummary.Summaries summaries;
         try {
-            // Extract overall summary from summaries object
-            summaries.setOverall(extractJsonValue(responsePayload, "summaries", "overall"));
-
-            // Extract customer summary from summaries object
-            summaries.setCustomer(extractJsonValue(responsePayload, "summaries", "customer"));
-
-            // Extract adjuster summary from summaries object
-            summaries.setAdjuster(extractJsonValue(responsePayload, "summaries", "adjuster"));
-
-            // Extract recommendation from summaries object
-            summaries.setRecommendation(extractJsonValue(responsePayload, "summaries", "recommendation"));
-        } catch (Exception e) {
-            // Fallback if parsing fails
-            summaries.setOverall("Summary generation failed");
-            summaries.setCustomer("Summary generation failed");
-            summaries.setAdjuster("Summary generation failed");
-            summaries.setRecommendation("UNKNOWN");
+            if (summaryBatcher.isEnabled()) {
+                // Shares one invocation with the other claims requested in the same window; the
+                // batcher applies the bulkhead and retries per invocation
+                summaries = summaryBatcher.summarize(claim);
+            } else {
+                // Invoke Lambda function with only claim details
+                InvokeRequest invokeRequest = InvokeRequest.builder()
+                        .functionName(summarizerLambdaName)
+                        .payload(LambdaPayloadCodec.summaryRequest(claim))
+                        .build();
+
+                InvokeResponse invokeResponse = summarizer(() -> checkSummarizerResponse(lambdaClient.invoke(invokeRequest)));
+                summaries = LambdaPayloadCodec.readSummaries(invokeResponse.payload());
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to parse summarizer response for claim {}: {}", claim.getClaimId(), e.getMessage());
+            summaries = failedSummaries();
         }
 
-        return summaries;
+        return new ClaimSummary(
+            claim.getClaimId(),
+            summaries,
+            java.time.LocalDateTime.now(),
+            "anthropic.claude-3-sonnet-20240229-v1:0"
+        );
     }
 
-    private String extractJsonValue(String json, String parentKey, String childKey) {
-        // First find the parent object
-        String parentSearchKey = "\"" + parentKey + "\": {";
-        int parentStart = json.indexOf(parentSearchKey);
-        if (parentStart == -1) return "Not available";
+    @Override
+    public ClaimSummary generateSummary(Claim claim, SummarySectionListener listener) {
+        SdkBytes payload = LambdaPayloadCodec.summaryRequest(claim);
 
-        // Find the end of the parent object
-        int parentEnd = json.indexOf("}", parentStart);
-        if (parentEnd == -1) return "Not available";
+        ClaimSummary.Summaries summaries;
+        try {
+            SummarySectionParser parser = new SummarySectionParser(listener);
+            if (summarizerResponseStreaming) {
+                // Sections are parsed and reported while the Lambda is still writing its response
+                // Not retried: sections already reported to the listener cannot be taken back
+                resilience.executeOnce(summarizerLambdaName, () -> summarizerBulkhead.execute(() -> {
+                    invokeSummarizerWithResponseStream(payload, parser);
+                    return null;
+                }));
+            } else {
+                InvokeResponse invokeResponse = summarizer(() -> checkSummarizerResponse(lambdaClient.invoke(
+                        InvokeRequest.builder()
+                                .functionName(summarizerLambdaName)
+                                .payload(payload)
+                                .build())));
+                parser.feed(invokeResponse.payload().asByteArrayUnsafe());
+            }
+            summaries = parser.finish();
+        } catch (IOException e) {
+            logger.warn("Failed to parse summarizer response for claim {}: {}", claim.getClaimId(), e.getMessage());
+            summaries = failedSummaries();
+        }
 
-        // Extract the parent object content
-        String parentContent = json.substring(parentStart + parentSearchKey.length(), parentEnd);
+        return new ClaimSummary(
+            claim.getClaimId(),
+            summaries,
+            java.time.LocalDateTime.now(),
+            "anthropic.claude-3-sonnet-20240229-v1:0"
+        );
+    }
 
-        // Now find the child key within the parent content
-        String childSearchKey = "\"" + childKey + "\": \"";
-        int childStart = parentContent.indexOf(childSearchKey);
-        if (childStart == -1) return "Not available";
+    private void invokeSummarizerWithResponseStream(SdkBytes payload, SummarySectionParser parser) throws IOException {
+        InvokeWithResponseStreamRequest request = InvokeWithResponseStreamRequest.builder()
+                .functionName(summarizerLambdaName)
+                .payload(payload)
+                .build();
 
-        childStart += childSearchKey.length();
-        int childEnd = parentContent.indexOf("\"", childStart);
-        if (childEnd == -1) return "Not available";
+        AtomicReference<String> functionError = new AtomicReference<>();
+        InvokeWithResponseStreamResponseHandler handler = InvokeWithResponseStreamResponseHandler.builder()
+                .subscriber(InvokeWithResponseStreamResponseHandler.Visitor.builder()
+                        .onPayloadChunk(chunk -> {
+                            try {
+                                parser.feed(chunk.payload().asByteArray());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        })
+                        .onInvokeComplete(complete -> {
+                            if (complete.errorCode() != null) {
+                                functionError.set(complete.errorCode() + ": " + complete.errorDetails());
+                            }
+                        })
+                        .build())
+                .build();
 
-        return parentContent.substring(childStart, childEnd);
+        try {
+            lambdaAsyncClient.invokeWithResponseStream(request, handler).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (functionError.get() != null) {
+            throw new LambdaFunctionException(summarizerLambdaName, functionError.get(), null);
+        }
     }
 
-    private Claim mapToClaim(Map<String, AttributeValue> item) {
-        List<String> notes = new ArrayList<>();
-        if (item.containsKey("notes") && item.get("notes").l() != null) {
-            for (AttributeValue noteValue : item.get("notes").l()) {
-                notes.add(noteValue.s());
-            }
+    private InvokeResponse checkSummarizerResponse(InvokeResponse response) {
+        // A function error is answered with status 200 and the error as payload
+        if (response.functionError() != null) {
+            throw new LambdaFunctionException(summarizerLambdaName, response.functionError(), null);
         }
+        return response;
+    }
 
-        return new Claim(
-            item.get("claimId").s(),
-            item.get("customerId").s(),
-            item.get("status").s(),
-            item.get("description").s(),
-            LocalDateTime.parse(item.get("createdDate").s(), DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-            LocalDateTime.parse(item.get("updatedDate").s(), DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-            notes,
-            Double.parseDouble(item.get("amount").n())
-        );
+    // DynamoDB calls are retried and circuit-broken; each attempt takes a bulkhead slot
+    private <T> T dynamoDb(Supplier<T> call) {
+        return resilience.execute(Bulkheads.DYNAMODB, () -> dynamoDbBulkhead.execute(call::get));
+    }
+
+    private <T, E extends Exception> T summarizer(AdaptiveBulkhead.BulkheadCall<T, E> call) throws E {
+        return resilience.execute(summarizerLambdaName, () -> summarizerBulkhead.execute(call));
+    }
+
+    private static ClaimSummary.Summaries failedSummaries() {
+        return new ClaimSummary.Summaries(SUMMARY_FAILED, SUMMARY_FAILED, SUMMARY_FAILED, "UNKNOWN");
     }
 
     @Override
@@ -243,30 +420,86 @@ public class ClaimsRepositoryImpl implements ClaimsRepository {
         LocalDateTime now = LocalDateTime.now();
 
         PutItemRequest putItemRequest = PutItemRequest.builder()
-                .tableName("claims")
-                .item(Map.of(
-                    "claimId", AttributeValue.builder().s(request.getClaimId()).build(),
-                    "customerId", AttributeValue.builder().s(request.getCustomerId()).build(),
-                    "status", AttributeValue.builder().s(request.getStatus()).build(),
-                    "description", AttributeValue.builder().s(request.getDescription()).build(),
-                    "amount", AttributeValue.builder().n(String.valueOf(request.getAmount())).build(),
-                    "createdDate", AttributeValue.builder().s(now.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).build(),
-                    "updatedDate", AttributeValue.builder().s(now.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).build()
-                ))
+                .tableName(TABLE_NAME)
+                .item(ClaimItemMapper.toItem(request, now))
+                // Never overwrite an existing claim (and its createdDate) on a retried create
+                .conditionExpression("attribute_not_exists(claimId)")
                 .build();
 
-        dynamoDbClient.putItem(putItemRequest);
+        try {
+            dynamoDb(() -> dynamoDbClient.putItem(putItemRequest));
+        } catch (ConditionalCheckFailedException e) {
+            throw new ClaimAlreadyExistsException(request.getClaimId(), e);
+        }
 
         // Return the created claim
-        return new Claim(
-            request.getClaimId(),
-            request.getCustomerId(),
-            request.getStatus(),
-            request.getDescription(),
-            now,
-            now,
-            new ArrayList<>(), // Empty notes list for new claims
-            request.getAmount()
-        );
+        return ClaimItemMapper.toClaim(request, now);
+    }
+
+    /**
+     * Writes each chunk in one TransactWriteItems call with the same {@code attribute_not_exists}
+     * condition as {@link #save}, since BatchWriteItem cannot carry conditions and would replace
+     * a stored claim. A cancelled transaction wrote nothing: claims that failed the condition are
+     * reported as existing and the rest of the chunk is sent again, after a backoff when DynamoDB
+     * cancelled it for throttling or a conflicting transaction.
+     */
+    @Override
+    public BulkSaveResult saveAll(List<CreateClaimRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Claim> saved = new HashMap<>();
+        Set<String> existing = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i += TRANSACT_WRITE_MAX_ITEMS) {
+            List<CreateClaimRequest> pending = requests.subList(i, Math.min(i + TRANSACT_WRITE_MAX_ITEMS, requests.size()));
+            for (int attempt = 0; !pending.isEmpty(); ) {
+                TransactWriteItemsRequest request = createTransaction(pending, now);
+                try {
+                    dynamoDb(() -> dynamoDbClient.transactWriteItems(request));
+                    pending.forEach(written -> saved.put(written.getClaimId(), ClaimItemMapper.toClaim(written, now)));
+                    break;
+                } catch (TransactionCanceledException e) {
+                    if (!e.hasCancellationReasons() || e.cancellationReasons().size() != pending.size()) {
+                        throw e;
+                    }
+                    List<CreateClaimRequest> retry = new ArrayList<>();
+                    boolean contended = false;
+                    for (int item = 0; item < pending.size(); item++) {
+                        String code = e.cancellationReasons().get(item).code();
+                        if (CONDITIONAL_CHECK_FAILED.equals(code)) {
+                            existing.add(pending.get(item).getClaimId());
+                        } else {
+                            contended |= code != null && !NO_CANCELLATION.equals(code);
+                            retry.add(pending.get(item));
+                        }
+                    }
+                    pending = retry;
+                    if (contended && !pending.isEmpty()) {
+                        if (attempt >= BATCH_MAX_RETRIES) {
+                            logger.warn("TransactWriteItems left {} claims unwritten after {} retries", pending.size(), attempt);
+                            break;
+                        }
+                        logger.debug("TransactWriteItems was cancelled on attempt {}, retrying", attempt + 1);
+                        backoff(attempt++);
+                    }
+                }
+            }
+        }
+        return new BulkSaveResult(saved, existing);
+    }
+
+    // The token makes a resent transaction a no-op if the first one was applied after all
+    private static TransactWriteItemsRequest createTransaction(List<CreateClaimRequest> requests, LocalDateTime now) {
+        return TransactWriteItemsRequest.builder()
+                .transactItems(requests.stream()
+                        .map(request -> TransactWriteItem.builder()
+                                .put(Put.builder()
+                                        .tableName(TABLE_NAME)
+                                        .item(ClaimItemMapper.toItem(request, now))
+                                        .conditionExpression("attribute_not_exists(claimId)")
+                                        .build())
+                                .build())
+                        .toList())
+                .clientRequestToken(UUID.randomUUID().toString())
+                .build();
     }
-}
\ No newline at end of file
+}
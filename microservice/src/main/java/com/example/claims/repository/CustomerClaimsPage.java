@@ -0,0 +1,24 @@
+package com.example.claims.repository;
+
+import java.io.IOException;
+
+import com.example.claims.model.Claim;
+
+/**
+ * One page of a customer's claims, read lazily so that callers can stream it. The query runs
+ * when {@link #forEach} is called; claims are handed over one at a time and are not retained.
+ */
+@FunctionalInterface
+public interface CustomerClaimsPage {
+
+    /**
+     * Passes every claim of the page to the sink, newest first, and returns the cursor of the
+     * next page or {@code null} if this was the last one.
+     */
+    String forEach(ClaimSink sink) throws IOException;
+
+    @FunctionalInterface
+    interface ClaimSink {
+        void accept(Claim claim) throws IOException;
+    }
+}
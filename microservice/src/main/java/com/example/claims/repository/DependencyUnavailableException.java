@@ -0,0 +1,27 @@
+package com.example.claims.repository;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a call is refused before reaching a downstream dependency because the dependency
+ * is overloaded or failing. Callers may try again after {@link #getRetryAfter()}.
+ */
+public abstract class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+    private final Duration retryAfter;
+
+    protected DependencyUnavailableException(String message, String dependency, Duration retryAfter) {
+        super(message);
+        this.dependency = dependency;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.claims.repository;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+/**
+ * Sends a GetItem and, if it has not answered after {@code app.dynamodb.hedge.delay}, a second
+ * identical request; the first successful response wins and the other request is cancelled.
+ * Hedges are paid for from a token bucket that every read tops up by
+ * {@code app.dynamodb.hedge.budget-percent}, so they can never add more than that share of
+ * extra reads (plus a small burst). Only use it for eventually consistent reads.
+ */
+@Component
+public class HedgedItemReader {
+
+    private static final int BURST = 10;
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final boolean enabled;
+    private final long delayNanos;
+    private final TokenBudget budget;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesDenied;
+
+    @Autowired
+    public HedgedItemReader(DynamoDbAsyncClient dynamoDbAsyncClient, MeterRegistry meterRegistry,
+                            @Value("${app.dynamodb.hedge.enabled:false}") boolean enabled,
+                            @Value("${app.dynamodb.hedge.delay:20ms}") Duration delay,
+                            @Value("${app.dynamodb.hedge.budget-percent:5}") double budgetPercent) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.enabled = enabled;
+        this.delayNanos = delay.toNanos();
+        this.budget = new TokenBudget(budgetPercent / 100.0, BURST);
+        this.hedgesSent = meterRegistry.counter("claims.dynamodb.hedge", "result", "sent");
+        this.hedgesWon = meterRegistry.counter("claims.dynamodb.hedge", "result", "won");
+        this.hedgesDenied = meterRegistry.counter("claims.dynamodb.hedge", "result", "over-budget");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blocking variant of {@link #getItemAsync}; SDK exceptions are rethrown unwrapped.
+     */
+    public GetItemResponse getItem(GetItemRequest request) {
+        try {
+            return getItemAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<GetItemResponse> getItemAsync(GetItemRequest request) {
+        CompletableFuture<GetItemResponse> result = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger(1);
+        budget.deposit();
+
+        CompletableFuture<GetItemResponse> primary = dynamoDbAsyncClient.getItem(request);
+        primary.whenComplete((response, error) -> settle(result, inFlight, response, error, false));
+        result.whenComplete((response, error) -> primary.cancel(true));
+
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                hedgesDenied.increment();
+                return;
+            }
+            hedgesSent.increment();
+            inFlight.incrementAndGet();
+            CompletableFuture<GetItemResponse> hedge = dynamoDbAsyncClient.getItem(request);
+            hedge.whenComplete((response, error) -> settle(result, inFlight, response, error, true));
+            result.whenComplete((response, error) -> hedge.cancel(true));
+        });
+        return result;
+    }
+
+    // First success completes the result; it only fails once every request sent has failed
+    private void settle(CompletableFuture<GetItemResponse> result, AtomicInteger inFlight,
+                        GetItemResponse response, Throwable error, boolean hedge) {
+        if (error == null) {
+            if (result.complete(response) && hedge) {
+                hedgesWon.increment();
+            }
+        } else if (inFlight.decrementAndGet() == 0) {
+            result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.claims.repository;
+
+/**
+ * Thrown when an idempotency key cannot be honoured: either the first request with the key is
+ * still running, or the key was already used for a different request body.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private final boolean inProgress;
+
+    public IdempotencyKeyConflictException(String message, boolean inProgress) {
+        super(message);
+        this.inProgress = inProgress;
+    }
+
+    public boolean isInProgress() {
+        return inProgress;
+    }
+}
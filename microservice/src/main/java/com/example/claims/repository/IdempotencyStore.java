@@ -0,0 +1,223 @@
+package com.example.claims.repository;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.CreateClaimRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+/**
+ * Remembers the outcome of claim creations made with an {@code Idempotency-Key}, so a retried
+ * request gets the original response instead of writing again. Completed keys are kept in a
+ * bounded in-process cache in front of a DynamoDB table shared by all replicas.
+ * <p>
+ * A key is first reserved with a short lease ({@code IN_PROGRESS}); a conditional put makes
+ * sure only one request wins the reservation. On success the record is replaced by a
+ * {@code COMPLETED} one holding the request fingerprint and the claim's creation time, which is
+ * all that is needed to rebuild the original response. Expired records are ignored and are
+ * removed by the table's TTL on {@code expiresAt}.
+ * <p>
+ * Table calls go through {@link ResiliencePolicy} like the other DynamoDB calls, since the
+ * shared client has its SDK retries switched off.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final ResiliencePolicy resilience;
+    private final String tableName;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Clock clock;
+    private final Cache<String, Completed> completed;
+
+    @Autowired
+    public IdempotencyStore(DynamoDbClient dynamoDbClient, ResiliencePolicy resilience, MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.table-name:claims-idempotency}") String tableName,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.lease:30s}") Duration lease,
+                            @Value("${app.idempotency.cache.max-size:10000}") long maxSize) {
+        this(dynamoDbClient, resilience, meterRegistry, tableName, ttl, lease, maxSize, Clock.systemUTC());
+    }
+
+    IdempotencyStore(DynamoDbClient dynamoDbClient, ResiliencePolicy resilience, MeterRegistry meterRegistry,
+                     String tableName, Duration ttl, Duration lease, long maxSize, Clock clock) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.resilience = resilience;
+        this.tableName = tableName;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.clock = clock;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    /**
+     * Starts a request with the given key. Returns the claim created by an earlier request with
+     * the same key and body, or {@code null} if the caller now holds the key and must perform
+     * the write, followed by {@link #complete} or {@link #release}.
+     *
+     * @throws IdempotencyKeyConflictException if the key is held by a running request or was
+     *         used for a different body
+     */
+    public Claim begin(String key, CreateClaimRequest request) {
+        String fingerprint = fingerprint(request);
+        Completed cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached.replay(key, fingerprint, request);
+        }
+
+        long now = clock.instant().getEpochSecond();
+        PutItemRequest reserve = PutItemRequest.builder()
+                .tableName(tableName)
+                .item(Map.of(
+                    "idempotencyKey", AttributeValue.fromS(key),
+                    "state", AttributeValue.fromS(IN_PROGRESS),
+                    "fingerprint", AttributeValue.fromS(fingerprint),
+                    "expiresAt", AttributeValue.fromN(Long.toString(now + lease.toSeconds()))))
+                .conditionExpression("attribute_not_exists(idempotencyKey) OR expiresAt < :now")
+                .expressionAttributeValues(Map.of(":now", AttributeValue.fromN(Long.toString(now))))
+                .build();
+        try {
+            // A failed condition is not retryable, so a lost race is not repeated
+            dynamoDb(() -> dynamoDbClient.putItem(reserve));
+            return null;
+        } catch (ConditionalCheckFailedException e) {
+            logger.debug("Idempotency key {} already recorded", key);
+        }
+
+        GetItemRequest get = GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of("idempotencyKey", AttributeValue.fromS(key)))
+                .consistentRead(true)
+                .build();
+        GetItemResponse response = dynamoDb(() -> dynamoDbClient.getItem(get));
+        Map<String, AttributeValue> item = response.item();
+        if (!response.hasItem() || !COMPLETED.equals(item.get("state").s())) {
+            // Either still running, or released between our put and get; the client retries
+            throw new IdempotencyKeyConflictException("A request with this idempotency key is in progress", true);
+        }
+        Completed record = new Completed(item.get("fingerprint").s(),
+                ClaimItemMapper.parseTimestamp(item.get("createdDate").s()));
+        completed.put(key, record);
+        return record.replay(key, fingerprint, request);
+    }
+
+    /**
+     * Records the claim created for a key reserved by {@link #begin}.
+     */
+    public void complete(String key, CreateClaimRequest request, Claim claim) {
+        String fingerprint = fingerprint(request);
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        PutItemRequest record = PutItemRequest.builder()
+                .tableName(tableName)
+                .item(Map.of(
+                    "idempotencyKey", AttributeValue.fromS(key),
+                    "state", AttributeValue.fromS(COMPLETED),
+                    "fingerprint", AttributeValue.fromS(fingerprint),
+                    "claimId", AttributeValue.fromS(claim.getClaimId()),
+                    "createdDate", AttributeValue.fromS(ClaimItemMapper.formatTimestamp(claim.getCreatedDate())),
+                    "expiresAt", AttributeValue.fromN(Long.toString(expiresAt))))
+                .build();
+        dynamoDb(() -> dynamoDbClient.putItem(record));
+        completed.put(key, new Completed(fingerprint, claim.getCreatedDate()));
+    }
+
+    /**
+     * Gives up a key reserved by {@link #begin} after a failed write, so the client can retry.
+     */
+    public void release(String key) {
+        DeleteItemRequest delete = DeleteItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of("idempotencyKey", AttributeValue.fromS(key)))
+                .conditionExpression("#state = :inProgress")
+                .expressionAttributeNames(Map.of("#state", "state"))
+                .expressionAttributeValues(Map.of(":inProgress", AttributeValue.fromS(IN_PROGRESS)))
+                .build();
+        try {
+            dynamoDb(() -> dynamoDbClient.deleteItem(delete));
+        } catch (RuntimeException e) {
+            // The lease expires on its own; do not hide the original failure
+            logger.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private <T> T dynamoDb(Supplier<T> call) {
+        return resilience.execute(Bulkheads.DYNAMODB, call::get);
+    }
+
+    /**
+     * Rebuilds the response of the request that created {@code stored} if it was created from the
+     * same body, or returns {@code null}. For a held key whose earlier request wrote the claim but
+     * could not {@link #complete} the key.
+     */
+    public Claim replayStored(CreateClaimRequest request, Claim stored) {
+        if (stored == null || !fingerprint(request).equals(fingerprint(stored.getClaimId(), stored.getCustomerId(),
+                stored.getStatus(), stored.getDescription(), stored.getAmount()))) {
+            return null;
+        }
+        // Same body and creation time, so this is exactly the response of the first request
+        return ClaimItemMapper.toClaim(request, stored.getCreatedDate());
+    }
+
+    static String fingerprint(CreateClaimRequest request) {
+        return fingerprint(request.getClaimId(), request.getCustomerId(), request.getStatus(),
+                request.getDescription(), request.getAmount());
+    }
+
+    private static String fingerprint(String claimId, String customerId, String status, String description,
+                                      Double amount) {
+        MessageDigest digest = Digests.sha256();
+        Digests.update(digest, claimId);
+        Digests.update(digest, customerId);
+        Digests.update(digest, status);
+        Digests.update(digest, description);
+        Digests.update(digest, String.valueOf(amount));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record Completed(String fingerprint, LocalDateTime createdDate) {
+
+        Claim replay(String key, String requestFingerprint, CreateClaimRequest request) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw new IdempotencyKeyConflictException(
+                        "Idempotency key " + key + " was already used for a different request", false);
+            }
+            // Same body and creation time, so this is exactly the response of the first request
+            return ClaimItemMapper.toClaim(request, createdDate);
+        }
+    }
+}
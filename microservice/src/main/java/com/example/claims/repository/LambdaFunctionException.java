@@ -0,0 +1,25 @@
+package com.example.claims.repository;
+
+/**
+ * Thrown when a Lambda function was invoked but reported an error ({@code X-Amz-Function-Error})
+ * instead of a result.
+ */
+public class LambdaFunctionException extends RuntimeException {
+
+    private final String functionName;
+    private final String functionError;
+
+    public LambdaFunctionException(String functionName, String functionError, String details) {
+        super("Lambda " + functionName + " failed: " + functionError + (details != null ? " " + details : ""));
+        this.functionName = functionName;
+        this.functionError = functionError;
+    }
+
+    public String getFunctionName() {
+        return functionName;
+    }
+
+    public String getFunctionError() {
+        return functionError;
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.claims.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import software.amazon.awssdk.core.SdkBytes;
+
+/**
+ * Encodes Lambda request payloads and decodes summarizer responses with Jackson's streaming
+ * API. Requests are written straight to UTF-8 bytes in a recycled buffer, so claim text and
+ * notes are always correctly escaped. Responses are read in a single pass; the only strings
+ * created are the section values themselves.
+ */
+public final class LambdaPayloadCodec {
+
+    static final String NOT_AVAILABLE = "Not available";
+
+    static final String GZIP_BASE64 = "gzip+base64";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private LambdaPayloadCodec() {
+    }
+
+    /**
+     * Payload for the summarizer Lambda: the claim details without notes.
+     */
+    public static SdkBytes summaryRequest(Claim claim) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("claimId", claim.getClaimId());
+            generator.writeStringField("description", claim.getDescription());
+            generator.writeStringField("status", claim.getStatus());
+            generator.writeStringField("customerId", claim.getCustomerId());
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Payload for a batched summarizer invocation: {@code {"claims": [...]}} with the same
+     * fields per claim as {@link #summaryRequest}.
+     */
+    public static SdkBytes summaryBatchRequest(Collection<Claim> claims) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("claims");
+            for (Claim claim : claims) {
+                generator.writeStartObject();
+                generator.writeStringField("claimId", claim.getClaimId());
+                generator.writeStringField("description", claim.getDescription());
+                generator.writeStringField("status", claim.getStatus());
+                generator.writeStringField("customerId", claim.getCustomerId());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Payload for the generate-files Lambda: the claim details plus its notes.
+     */
+    public static SdkBytes generateFilesRequest(Claim claim, String notes) {
+        return generateFilesRequest(claim, NotesPayload.inline(notes), false);
+    }
+
+    /**
+     * Payload for the generate-files Lambda with the notes inline, optionally as gzip+base64,
+     * or as a {@code notesRef} the Lambda resolves against S3.
+     */
+    public static SdkBytes generateFilesRequest(Claim claim, NotesPayload notes, boolean compressInline) {
+        return generateFilesRequest(claim, notes, compressInline, null);
+    }
+
+    /**
+     * As {@link #generateFilesRequest(Claim, NotesPayload, boolean)}, with a {@code generationId}
+     * the Lambda stores on the files it writes, if one is given.
+     */
+    public static SdkBytes generateFilesRequest(Claim claim, NotesPayload notes, boolean compressInline,
+                                                String generationId) {
+        return write(generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("claimId", claim.getClaimId());
+            if (generationId != null) {
+                generator.writeStringField("generationId", generationId);
+            }
+            generator.writeObjectFieldStart("claimData");
+            generator.writeStringField("claimId", claim.getClaimId());
+            generator.writeStringField("status", claim.getStatus());
+            generator.writeStringField("customerId", claim.getCustomerId());
+            generator.writeStringField("description", claim.getDescription());
+            generator.writeEndObject();
+            if (notes.isReference()) {
+                generator.writeObjectFieldStart("notesRef");
+                generator.writeStringField("bucket", notes.bucket());
+                generator.writeStringField("key", notes.key());
+                if (notes.eTag() != null) {
+                    generator.writeStringField("eTag", notes.eTag());
+                }
+                if (notes.versionId() != null) {
+                    generator.writeStringField("versionId", notes.versionId());
+                }
+                if (notes.size() >= 0) {
+                    generator.writeNumberField("size", notes.size());
+                }
+                generator.writeEndObject();
+            } else if (compressInline) {
+                generator.writeStringField("notesEncoding", GZIP_BASE64);
+                generator.writeStringField("notes", gzipBase64(notes.notes()));
+            } else {
+                generator.writeStringField("notes", notes.notes());
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Reads the {@code summaries} object of a summarizer response. Sections missing from the
+     * response are returned as {@value #NOT_AVAILABLE}.
+     *
+     * @throws IOException if the payload is not valid JSON
+     */
+    public static ClaimSummary.Summaries readSummaries(SdkBytes payload) throws IOException {
+        ClaimSummary.Summaries summaries = new ClaimSummary.Summaries();
+        try (JsonParser parser = JSON_FACTORY.createParser(payload.asByteArrayUnsafe())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Summarizer response is not a JSON object");
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                if ("summaries".equals(field) && value == JsonToken.START_OBJECT) {
+                    readSections(parser, summaries);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        fillMissing(summaries, (section, text) -> { });
+        return summaries;
+    }
+
+    /**
+     * Reads the {@code results} array of a batched summarizer response into summaries by claim
+     * ID. Results that carry an {@code error} instead of summaries are left out.
+     *
+     * @throws IOException if the payload is not valid JSON
+     */
+    public static Map<String, ClaimSummary.Summaries> readBatchSummaries(SdkBytes payload) throws IOException {
+        Map<String, ClaimSummary.Summaries> results = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(payload.asByteArrayUnsafe())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Summarizer response is not a JSON object");
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readBatchResult(parser, results);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void readBatchResult(JsonParser parser, Map<String, ClaimSummary.Summaries> results)
+            throws IOException {
+        String claimId = null;
+        ClaimSummary.Summaries summaries = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if ("claimId".equals(field) && value == JsonToken.VALUE_STRING) {
+                claimId = parser.getText();
+            } else if ("summaries".equals(field) && value == JsonToken.START_OBJECT) {
+                summaries = new ClaimSummary.Summaries();
+                readSections(parser, summaries);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (claimId != null && summaries != null) {
+            fillMissing(summaries, (section, text) -> { });
+            results.put(claimId, summaries);
+        }
+    }
+
+    /**
+     * Sets every section the response did not contain to {@value #NOT_AVAILABLE}, reporting
+     * each one to the listener.
+     */
+    static void fillMissing(ClaimSummary.Summaries summaries, SummarySectionListener listener) {
+        if (summaries.getOverall() == null) {
+            setSection(summaries, "overall", NOT_AVAILABLE);
+            listener.onSection("overall", NOT_AVAILABLE);
+        }
+        if (summaries.getCustomer() == null) {
+            setSection(summaries, "customer", NOT_AVAILABLE);
+            listener.onSection("customer", NOT_AVAILABLE);
+        }
+        if (summaries.getAdjuster() == null) {
+            setSection(summaries, "adjuster", NOT_AVAILABLE);
+            listener.onSection("adjuster", NOT_AVAILABLE);
+        }
+        if (summaries.getRecommendation() == null) {
+            setSection(summaries, "recommendation", NOT_AVAILABLE);
+            listener.onSection("recommendation", NOT_AVAILABLE);
+        }
+    }
+
+    /**
+     * Stores a section value, returning {@code false} for names that are not summary sections.
+     */
+    static boolean setSection(ClaimSummary.Summaries summaries, String name, String text) {
+        switch (name) {
+            case "overall" -> summaries.setOverall(text);
+            case "customer" -> summaries.setCustomer(text);
+            case "adjuster" -> summaries.setAdjuster(text);
+            case "recommendation" -> summaries.setRecommendation(text);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readSections(JsonParser parser, ClaimSummary.Summaries summaries) throws IOException {
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                setSection(summaries, field, parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static SdkBytes write(PayloadWriter writer) {
+        // Borrows a buffer from Jackson's recycler instead of allocating and growing a new one
+        ByteArrayBuilder buffer = new ByteArrayBuilder(JSON_FACTORY._getBufferRecycler());
+        try {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+                writer.write(generator);
+            }
+            return SdkBytes.fromByteArrayUnsafe(buffer.toByteArray());
+        } catch (IOException e) {
+            // Writing to an in-memory buffer does not fail
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static String gzipBase64(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, value.length() / 3));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.claims.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Local copy of each claim's {@code notes.txt} together with the S3 ETag it was read with, so
+ * the object can be revalidated with a conditional GET instead of downloaded again. Small notes
+ * are kept in memory; notes larger than {@code app.cache.notes.spill-threshold} are written to
+ * {@code app.cache.notes.directory} and memory-mapped when read. Both tiers are bounded by
+ * their total size in bytes. The spill threshold must stay below the generate-files inline
+ * threshold: in {@code AUTO} mode larger notes are passed by reference and never read here.
+ */
+@Component
+public class NotesCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotesCache.class);
+
+    private static final String FILE_SUFFIX = ".notes";
+
+    private final Cache<String, CachedNotes> memory;
+    private final Cache<String, CachedNotes> disk;
+    private final Path directory;
+    private final long spillThreshold;
+    private final AtomicLong fileCounter = new AtomicLong();
+
+    @Autowired
+    public NotesCache(MeterRegistry meterRegistry,
+                      @Value("${app.cache.notes.max-memory:16MB}") DataSize maxMemory,
+                      @Value("${app.cache.notes.max-disk:256MB}") DataSize maxDisk,
+                      @Value("${app.cache.notes.spill-threshold:16KB}") DataSize spillThreshold,
+                      @Value("${app.cache.notes.directory:${java.io.tmpdir}/claims-notes-cache}") String directory) {
+        this.directory = Path.of(directory);
+        this.spillThreshold = spillThreshold.toBytes();
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String key, CachedNotes notes) -> notes.size())
+                .recordStats()
+                .build();
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight(maxDisk.toBytes())
+                .weigher((String key, CachedNotes notes) -> notes.size())
+                // Every put writes a new file, so replaced entries are deleted as well
+                .removalListener((String key, CachedNotes notes, RemovalCause cause) -> {
+                    if (notes != null) {
+                        deleteQuietly(notes.file());
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "notes");
+        CaffeineCacheMetrics.monitor(meterRegistry, disk, "notes-disk");
+        prepareDirectory();
+    }
+
+    /**
+     * Returns the cached notes of a claim, or {@code null} if there are none.
+     */
+    public CachedNotes get(String claimId) {
+        CachedNotes notes = memory.getIfPresent(claimId);
+        return notes != null ? notes : disk.getIfPresent(claimId);
+    }
+
+    public void put(String claimId, String eTag, byte[] content) {
+        if (eTag == null) {
+            // Without an ETag the entry could never be revalidated
+            invalidate(claimId);
+            return;
+        }
+        if (content.length <= spillThreshold) {
+            memory.put(claimId, new CachedNotes(eTag, content, null, content.length));
+            disk.invalidate(claimId);
+            return;
+        }
+        Path file = directory.resolve(Long.toHexString(fileCounter.incrementAndGet()) + "-"
+                + HexFormat.of().formatHex(Digests.sha256().digest(claimId.getBytes(StandardCharsets.UTF_8)))
+                + FILE_SUFFIX);
+        try {
+            Files.write(file, content);
+        } catch (IOException e) {
+            logger.warn("Could not spill notes of claim {} to {}: {}", claimId, file, e.getMessage());
+            invalidate(claimId);
+            return;
+        }
+        disk.put(claimId, new CachedNotes(eTag, null, file, content.length));
+        memory.invalidate(claimId);
+    }
+
+    public void invalidate(String claimId) {
+        memory.invalidate(claimId);
+        disk.invalidate(claimId);
+    }
+
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            // Files left behind by a previous run are not referenced by any entry
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+                for (Path file : stale) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot use notes cache directory " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached notes file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Notes held either in memory ({@code content}) or in a file of the disk tier.
+     */
+    public record CachedNotes(String eTag, byte[] content, Path file, int size) {
+
+        /**
+         * Decodes the notes. Fails with an {@link IOException} if the file was evicted in the
+         * meantime; callers then treat the entry as missing.
+         */
+        public String read() throws IOException {
+            if (content != null) {
+                return new String(content, StandardCharsets.UTF_8);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                return StandardCharsets.UTF_8.decode(buffer).toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.claims.repository;
+
+/**
+ * How a claim's notes reach the generate-files Lambda: either inline in the invoke payload, or
+ * as a pointer to the S3 object the Lambda reads itself. A reference carries the ETag and
+ * version seen by the service when they are known, so the Lambda reads the same object.
+ */
+public record NotesPayload(String notes, String bucket, String key, String eTag, String versionId, long size) {
+
+    /**
+     * Selects how {@link AsyncClaimsRepository#getNotesPayload} builds the payload.
+     */
+    public enum Mode {
+        /** Always read the notes and inline them. */
+        INLINE,
+        /** Never read the notes; always pass the object key. */
+        REFERENCE,
+        /** Inline notes up to the size threshold, pass larger ones by reference. */
+        AUTO
+    }
+
+    public static NotesPayload inline(String notes) {
+        return new NotesPayload(notes, null, null, null, null, notes.length());
+    }
+
+    public static NotesPayload reference(String bucket, String key, String eTag, String versionId, long size) {
+        return new NotesPayload(null, bucket, key, eTag, versionId, size);
+    }
+
+    public boolean isReference() {
+        return notes == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.claims.repository;
+
+/**
+ * Consistency of a single DynamoDB read.
+ */
+public enum ReadConsistency {
+    /** May miss writes from the last second; half the read capacity and eligible for hedging. */
+    EVENTUAL,
+    /** Reflects every write that succeeded before the read. */
+    STRONG
+}
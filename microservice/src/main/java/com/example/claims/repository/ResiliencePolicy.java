@@ -0,0 +1,276 @@
+package com.example.claims.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Retries and circuit breaking for calls to DynamoDB and the Lambda functions, one circuit
+ * breaker and retry budget per target (a function name, or {@code dynamodb}).
+ * <p>
+ * Only retryable failures are retried: throttling, 5xx responses and client-side timeouts and
+ * connection errors. Retries wait a random time up to an exponentially growing ceiling (full
+ * jitter) and are paid for from a token bucket that every call tops up by
+ * {@code app.resilience.retry.budget-percent}, so during an outage retries add at most that share
+ * of extra load instead of multiplying it. Retryable failures and Lambda function errors count
+ * as failures for the breaker; other errors, such as a failed condition check, mean the target
+ * answered and count as successes. Calls refused by a bulkhead are not counted.
+ * <p>
+ * The SDK's own retries are switched off for the clients used here; see {@code AwsConfig}.
+ */
+@Component
+public class ResiliencePolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResiliencePolicy.class);
+
+    private static final int BUDGET_BURST = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetRatio;
+    private final double failureRate;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+    private final ConcurrentMap<String, Target> targets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResiliencePolicy(MeterRegistry meterRegistry,
+                            @Value("${app.resilience.enabled:true}") boolean enabled,
+                            @Value("${app.resilience.retry.max-attempts:3}") int maxAttempts,
+                            @Value("${app.resilience.retry.base-delay:50ms}") Duration baseDelay,
+                            @Value("${app.resilience.retry.max-delay:1s}") Duration maxDelay,
+                            @Value("${app.resilience.retry.budget-percent:10}") double budgetPercent,
+                            @Value("${app.resilience.circuit-breaker.failure-rate-percent:50}") double failureRatePercent,
+                            @Value("${app.resilience.circuit-breaker.window:20}") int windowSize,
+                            @Value("${app.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                            @Value("${app.resilience.circuit-breaker.open-duration:30s}") Duration openDuration,
+                            @Value("${app.resilience.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this(meterRegistry, enabled, maxAttempts, baseDelay, maxDelay, budgetPercent, failureRatePercent, windowSize,
+                minimumCalls, openDuration, halfOpenCalls, Clock.systemUTC());
+    }
+
+    ResiliencePolicy(MeterRegistry meterRegistry, boolean enabled, int maxAttempts, Duration baseDelay, Duration maxDelay,
+                     double budgetPercent, double failureRatePercent, int windowSize, int minimumCalls,
+                     Duration openDuration, int halfOpenCalls, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetRatio = budgetPercent / 100.0;
+        this.failureRate = failureRatePercent / 100.0;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    /**
+     * Policy that runs every call once and never opens a breaker.
+     */
+    public static ResiliencePolicy disabled() {
+        return new ResiliencePolicy(null, false, 1, Duration.ZERO, Duration.ZERO, 0, 100, 1, 1, Duration.ZERO, 1,
+                Clock.systemUTC());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CircuitBreaker circuitBreaker(String target) {
+        return target(target).breaker;
+    }
+
+    /**
+     * Runs a blocking call through the target's breaker, retrying retryable failures.
+     *
+     * @throws CircuitOpenException if the target's breaker is open
+     */
+    public <T, E extends Exception> T execute(String target, AdaptiveBulkhead.BulkheadCall<T, E> call) throws E {
+        if (!enabled) {
+            return call.call();
+        }
+        Target state = target(target);
+        state.budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            state.breaker.acquirePermission();
+            try {
+                T result = call.call();
+                state.breaker.onSuccess();
+                return result;
+            } catch (Throwable e) {
+                report(state, e);
+                if (!shouldRetry(state, e, attempt) || !sleep(backoffNanos(attempt))) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a blocking call through the target's breaker without retrying it, for calls that
+     * cannot be repeated, such as a response stream that has already been partly consumed.
+     */
+    public <T, E extends Exception> T executeOnce(String target, AdaptiveBulkhead.BulkheadCall<T, E> call) throws E {
+        if (!enabled) {
+            return call.call();
+        }
+        Target state = target(target);
+        state.breaker.acquirePermission();
+        try {
+            T result = call.call();
+            state.breaker.onSuccess();
+            return result;
+        } catch (Throwable e) {
+            report(state, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}; retries are scheduled without holding a thread.
+     * The returned future fails with the last, unwrapped error.
+     */
+    public <T> CompletableFuture<T> executeAsync(String target, Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Target state = target(target);
+        state.budget.deposit();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Retries start on a timer thread; give them the caller's logging and trace context
+        attempt(state, call, 1, result, MDC.getCopyOfContextMap());
+        return result;
+    }
+
+    private <T> void attempt(Target state, Supplier<CompletableFuture<T>> call, int attempt, CompletableFuture<T> result,
+                             Map<String, String> mdc) {
+        try {
+            state.breaker.acquirePermission();
+        } catch (CircuitOpenException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                state.breaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+            Throwable cause = AwsErrors.unwrap(error);
+            report(state, cause);
+            if (!shouldRetry(state, cause, attempt)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            CompletableFuture.delayedExecutor(backoffNanos(attempt), TimeUnit.NANOSECONDS).execute(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    attempt(state, call, attempt + 1, result, mdc);
+                } finally {
+                    MDC.clear();
+                }
+            });
+        });
+    }
+
+    private void report(Target state, Throwable error) {
+        Throwable cause = AwsErrors.unwrap(error);
+        if (cause instanceof DependencyUnavailableException) {
+            state.breaker.onIgnored();
+        } else if (AwsErrors.isRetryable(cause) || cause instanceof LambdaFunctionException) {
+            state.breaker.onFailure();
+        } else {
+            state.breaker.onSuccess();
+        }
+    }
+
+    private boolean shouldRetry(Target state, Throwable error, int attempt) {
+        if (attempt >= maxAttempts || !AwsErrors.isRetryable(error)) {
+            return false;
+        }
+        if (!state.budget.tryWithdraw()) {
+            state.budgetExhausted.increment();
+            logger.warn("Retry budget for {} exhausted, not retrying: {}", state.name, error.getMessage());
+            return false;
+        }
+        state.retries.increment();
+        logger.debug("Retrying call to {} after attempt {}: {}", state.name, attempt, error.getMessage());
+        return true;
+    }
+
+    // Full jitter: a random delay up to base * 2^(attempt - 1), capped at the maximum delay
+    private long backoffNanos(int attempt) {
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Target target(String name) {
+        return targets.computeIfAbsent(name, Target::new);
+    }
+
+    private final class Target {
+
+        private final String name;
+        private final CircuitBreaker breaker;
+        private final TokenBudget budget;
+        private final Counter retries;
+        private final Counter budgetExhausted;
+
+        Target(String name) {
+            this.name = name;
+            this.breaker = new CircuitBreaker(name, failureRate, windowSize, minimumCalls, openDuration, halfOpenCalls,
+                    clock, meterRegistry);
+            this.budget = new TokenBudget(budgetRatio, BUDGET_BURST);
+            this.retries = Counter.builder("claims.retry.attempts")
+                    .description("Retries sent after a retryable failure")
+                    .tag("target", name)
+                    .register(meterRegistry);
+            this.budgetExhausted = Counter.builder("claims.retry.budget-exhausted")
+                    .description("Retryable failures not retried because the retry budget was empty")
+                    .tag("target", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.claims.repository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+
+/**
+ * Collects summary requests for up to {@code app.summary-batch.window}, or until
+ * {@code app.summary-batch.max-size} claims are waiting, and sends them to the summarizer
+ * Lambda as one {@code {"claims": [...]}} invocation. The per-claim results of the batch
+ * response are handed back to each waiting caller. Requests for the same claim within a window
+ * share one entry of the batch.
+ * <p>
+ * The summarizer's bulkhead and {@link ResiliencePolicy} apply to each batch invocation, not to
+ * each waiting caller: a batch takes one bulkhead permit, and a retry resends the batch once.
+ */
+@Component
+public class SummaryBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryBatcher.class);
+
+    private final LambdaAsyncClient lambdaAsyncClient;
+    private final AdaptiveBulkhead summarizerBulkhead;
+    private final ResiliencePolicy resilience;
+    private final String summarizerLambdaName;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Object lock = new Object();
+    private Batch open = new Batch();
+
+    @Autowired
+    public SummaryBatcher(LambdaAsyncClient lambdaAsyncClient, Bulkheads bulkheads, ResiliencePolicy resilience,
+                          MeterRegistry meterRegistry,
+                          @Value("${aws.lambda.function-name}") String summarizerLambdaName,
+                          @Value("${app.summary-batch.enabled:false}") boolean enabled,
+                          @Value("${app.summary-batch.window:10ms}") Duration window,
+                          @Value("${app.summary-batch.max-size:16}") int maxSize) {
+        this.lambdaAsyncClient = lambdaAsyncClient;
+        this.summarizerBulkhead = bulkheads.summarizerLambda();
+        this.resilience = resilience;
+        this.summarizerLambdaName = summarizerLambdaName;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxSize = Math.max(1, maxSize);
+        this.batchSize = DistributionSummary.builder("claims.summary.batch.size")
+                .description("Claims sent per batched summarizer invocation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("claims.summary.batch.flush")
+                .description("Time from sending a summary batch until its results are handed out")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blocking variant of {@link #submit}. Lambda and SDK failures are rethrown unwrapped.
+     *
+     * @throws IOException if the batch response could not be read or had no result for the claim
+     */
+    public ClaimSummary.Summaries summarize(Claim claim) throws IOException {
+        try {
+            return submit(claim).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<ClaimSummary.Summaries> submit(Claim claim) {
+        CompletableFuture<ClaimSummary.Summaries> result = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (lock) {
+            Batch batch = open;
+            batch.add(claim, result);
+            if (batch.claims.size() >= maxSize) {
+                open = new Batch();
+                full = batch;
+            } else if (batch.requests == 1) {
+                // The first request of a window starts its timer
+                CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS).execute(() -> flushOnTimer(batch));
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    private void flushOnTimer(Batch batch) {
+        synchronized (lock) {
+            if (open != batch) {
+                // Already sent because it filled up
+                return;
+            }
+            open = new Batch();
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        batchSize.record(batch.claims.size());
+        long start = System.nanoTime();
+        InvokeRequest request = InvokeRequest.builder()
+                .functionName(summarizerLambdaName)
+                .payload(LambdaPayloadCodec.summaryBatchRequest(batch.claims.values()))
+                .build();
+
+        CompletableFuture<InvokeResponse> invocation;
+        try {
+            // A function error fails the future, so the breaker counts it
+            invocation = resilience.executeAsync(summarizerLambdaName,
+                    () -> summarizerBulkhead.executeAsync(() -> lambdaAsyncClient.invoke(request).thenApply(this::checkResponse)));
+        } catch (RuntimeException e) {
+            batch.fail(e);
+            return;
+        }
+        invocation.whenComplete((response, error) -> {
+            try {
+                if (error != null) {
+                    batch.fail(AwsErrors.unwrap(error));
+                } else {
+                    batch.complete(LambdaPayloadCodec.readBatchSummaries(response.payload()));
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to parse batched summarizer response: {}", e.getMessage());
+                batch.fail(e);
+            } finally {
+                flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private InvokeResponse checkResponse(InvokeResponse response) {
+        if (response.functionError() != null) {
+            throw new LambdaFunctionException(summarizerLambdaName, response.functionError(), null);
+        }
+        return response;
+    }
+
+    /**
+     * Claims of one window, deduplicated by ID, and the callers waiting for each of them.
+     */
+    private static final class Batch {
+
+        private final Map<String, Claim> claims = new LinkedHashMap<>();
+        private final Map<String, List<CompletableFuture<ClaimSummary.Summaries>>> waiting = new LinkedHashMap<>();
+        private int requests;
+
+        void add(Claim claim, CompletableFuture<ClaimSummary.Summaries> result) {
+            claims.putIfAbsent(claim.getClaimId(), claim);
+            waiting.computeIfAbsent(claim.getClaimId(), id -> new ArrayList<>(1)).add(result);
+            requests++;
+        }
+
+        void complete(Map<String, ClaimSummary.Summaries> results) {
+            waiting.forEach((claimId, callers) -> {
+                ClaimSummary.Summaries summaries = results.get(claimId);
+                for (CompletableFuture<ClaimSummary.Summaries> caller : callers) {
+                    if (summaries != null) {
+                        caller.complete(summaries);
+                    } else {
+                        caller.completeExceptionally(new IOException("Batch response has no result for claim " + claimId));
+                    }
+                }
+            });
+        }
+
+        void fail(Throwable error) {
+            waiting.values().forEach(callers -> callers.forEach(caller -> caller.completeExceptionally(error)));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.claims.repository;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Content-addressed cache of generated summaries. Entries are keyed by a SHA-256 digest of
+ * the claim fields the summarizer Lambda sees and the ETag of the {@code notes.txt} it reads
+ * from S3, so a summary is reused until one of those changes. The cache is bounded by the
+ * approximate memory footprint of the summaries.
+ */
+@Component
+public class SummaryCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<String, ClaimSummary> cache;
+
+    @Autowired
+    public SummaryCache(MeterRegistry meterRegistry,
+                        @Value("${app.cache.summaries.max-memory:32MB}") DataSize maxMemory,
+                        @Value("${app.cache.summaries.ttl:1h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String key, ClaimSummary summary) -> weigh(summary))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "summaries");
+    }
+
+    /**
+     * @param notesETag ETag of the claim's {@code notes.txt}, or {@code null} if it has none
+     */
+    public ClaimSummary get(Claim claim, String notesETag) {
+        return cache.getIfPresent(keyFor(claim, notesETag));
+    }
+
+    public void put(Claim claim, String notesETag, ClaimSummary summary) {
+        cache.put(keyFor(claim, notesETag), summary);
+    }
+
+    static String keyFor(Claim claim, String notesETag) {
+        MessageDigest digest = Digests.sha256();
+        Digests.update(digest, notesETag);
+        Digests.update(digest, claim.getClaimId());
+        Digests.update(digest, claim.getStatus());
+        Digests.update(digest, claim.getDescription());
+        Digests.update(digest, claim.getCustomerId());
+        List<String> notes = claim.getNotes();
+        if (notes == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            for (String note : notes) {
+                Digests.update(digest, note);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static int weigh(ClaimSummary summary) {
+        long bytes = ENTRY_OVERHEAD_BYTES + sizeOf(summary.getClaimId()) + sizeOf(summary.getModelUsed());
+        ClaimSummary.Summaries summaries = summary.getSummaries();
+        if (summaries != null) {
+            bytes += sizeOf(summaries.getOverall()) + sizeOf(summaries.getCustomer())
+                    + sizeOf(summaries.getAdjuster()) + sizeOf(summaries.getRecommendation());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.claims.repository;
+
+/**
+ * Receives each section of a claim summary ({@code overall}, {@code customer},
+ * {@code adjuster}, {@code recommendation}) as soon as it has been parsed.
+ */
+@FunctionalInterface
+public interface SummarySectionListener {
+    void onSection(String section, String text);
+}
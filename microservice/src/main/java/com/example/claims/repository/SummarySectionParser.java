@@ -0,0 +1,83 @@
+package com.example.claims.repository;
+
+import java.io.IOException;
+
+import com.example.claims.model.ClaimSummary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+/**
+ * Incremental parser for the summarizer Lambda response. Bytes can be fed in arbitrary chunks
+ * as they arrive; every string field of the {@code summaries} object is reported to the
+ * listener the moment its closing quote has been read.
+ */
+class SummarySectionParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final SummarySectionListener listener;
+    private final ClaimSummary.Summaries summaries = new ClaimSummary.Summaries();
+
+    private int depth;
+    private int summariesDepth = -1;
+
+    SummarySectionParser(SummarySectionListener listener) throws IOException {
+        this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.listener = listener;
+    }
+
+    void feed(byte[] bytes) throws IOException {
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * Signals the end of the response and returns the parsed sections. Sections missing from the
+     * response are reported as {@value LambdaPayloadCodec#NOT_AVAILABLE}.
+     */
+    ClaimSummary.Summaries finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        parser.close();
+
+        LambdaPayloadCodec.fillMissing(summaries, listener);
+        return summaries;
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && token == JsonToken.START_OBJECT && "summaries".equals(parser.currentName())) {
+                        summariesDepth = depth;
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == summariesDepth) {
+                        summariesDepth = -1;
+                    }
+                    depth--;
+                }
+                case VALUE_STRING -> {
+                    if (depth == summariesDepth) {
+                        String name = parser.currentName();
+                        String text = parser.getText();
+                        if (LambdaPayloadCodec.setSection(summaries, name, text)) {
+                            listener.onSection(name, text);
+                        }
+                    }
+                }
+                default -> {
+                    // Other tokens carry nothing the caller needs
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.claims.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in thousandths of a token: each regular call deposits {@code ratio} of a token,
+ * each extra call (a hedge or a retry) withdraws a whole one, and the balance is capped at
+ * {@code burst} tokens. Extra calls can so never exceed that share of regular calls, plus the
+ * burst.
+ */
+final class TokenBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long depositPerCall;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    TokenBudget(double ratio, int burst) {
+        this.depositPerCall = Math.round(ratio * UNIT);
+        this.capacity = burst * UNIT;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(depositPerCall, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - UNIT));
+        return true;
+    }
+}
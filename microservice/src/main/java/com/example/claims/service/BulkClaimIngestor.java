@@ -0,0 +1,183 @@
+package com.example.claims.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.claims.model.BulkCreateClaimsResponse;
+import com.example.claims.model.BulkCreateClaimsResponse.ItemResult;
+import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.repository.BulkSaveResult;
+import com.example.claims.repository.ClaimsRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streams {@link CreateClaimRequest} records from a JSON array or NDJSON body, validates each
+ * one as it is read and writes valid records in 25-item batches. Up to
+ * {@code app.bulk.max-concurrent-batches} batches are flushed concurrently; reading pauses
+ * while that many are in flight, so the request body is never fully buffered. Claims that
+ * already exist are left untouched and reported as {@code CONFLICT}.
+ */
+@Component
+public class BulkClaimIngestor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkClaimIngestor.class);
+
+    private static final int BATCH_SIZE = 25;
+
+    private final ClaimsRepository claimsRepository;
+    private final ObjectReader recordReader;
+    private final Validator validator;
+    private final Executor batchExecutor;
+    private final int maxConcurrentBatches;
+    private final int maxRecords;
+
+    @Autowired
+    public BulkClaimIngestor(ClaimsRepository claimsRepository, ObjectMapper objectMapper, Validator validator,
+                             @Qualifier("batchIoExecutor") Executor batchExecutor,
+                             @Value("${app.bulk.max-concurrent-batches:4}") int maxConcurrentBatches,
+                             @Value("${app.bulk.max-records:10000}") int maxRecords) {
+        this.claimsRepository = claimsRepository;
+        this.recordReader = objectMapper.readerFor(CreateClaimRequest.class);
+        this.validator = validator;
+        this.batchExecutor = batchExecutor;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.maxRecords = maxRecords;
+    }
+
+    public BulkCreateClaimsResponse ingest(InputStream body) throws IOException {
+        List<ItemResult> results = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(maxConcurrentBatches);
+        Set<String> seenClaimIds = new HashSet<>();
+        List<PendingRecord> batch = new ArrayList<>(BATCH_SIZE);
+
+        int index = 0;
+        // A top-level JSON array is unwrapped by the iterator, so both formats read the same way
+        try (MappingIterator<CreateClaimRequest> records = recordReader.readValues(body)) {
+            while (true) {
+                CreateClaimRequest request;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    request = records.nextValue();
+                } catch (JsonParseException e) {
+                    // Syntax errors leave the stream unreadable, so stop here
+                    results.add(new ItemResult(index, null, ItemResult.INVALID, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    results.add(new ItemResult(index++, null, ItemResult.INVALID, e.getOriginalMessage()));
+                    continue;
+                }
+
+                if (index >= maxRecords) {
+                    results.add(new ItemResult(index, null, ItemResult.INVALID, "Bulk request exceeds " + maxRecords + " records"));
+                    break;
+                }
+
+                String error = validate(request, seenClaimIds);
+                if (error != null) {
+                    results.add(new ItemResult(index, request == null ? null : request.getClaimId(), ItemResult.INVALID, error));
+                } else {
+                    batch.add(new PendingRecord(index, request));
+                    if (batch.size() == BATCH_SIZE) {
+                        flushes.add(flush(batch, inFlight, results));
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                index++;
+            }
+        } finally {
+            if (!batch.isEmpty()) {
+                flushes.add(flush(batch, inFlight, results));
+            }
+            CompletableFuture.allOf(flushes.toArray(new CompletableFuture[0])).join();
+        }
+
+        List<ItemResult> ordered = new ArrayList<>(results);
+        ordered.sort(Comparator.comparingInt(ItemResult::getIndex));
+        int created = (int) ordered.stream().filter(result -> ItemResult.CREATED.equals(result.getStatus())).count();
+        logger.info("Bulk ingestion processed {} records: {} created, {} rejected", ordered.size(), created, ordered.size() - created);
+        return new BulkCreateClaimsResponse(ordered.size(), created, ordered.size() - created, ordered);
+    }
+
+    private String validate(CreateClaimRequest request, Set<String> seenClaimIds) {
+        if (request == null) {
+            return "Record must be a JSON object";
+        }
+        Set<ConstraintViolation<CreateClaimRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // TransactWriteItems rejects a transaction touching the same key twice
+        if (!seenClaimIds.add(request.getClaimId())) {
+            return "Duplicate claimId in request";
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> flush(List<PendingRecord> batch, Semaphore inFlight, List<ItemResult> results) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.forEach(pending -> results.add(pending.failed("Interrupted before write")));
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> write(batch, results), batchExecutor)
+                .whenComplete((ignored, error) -> inFlight.release());
+    }
+
+    private void write(List<PendingRecord> batch, List<ItemResult> results) {
+        try {
+            BulkSaveResult saved = claimsRepository.saveAll(batch.stream().map(PendingRecord::request).toList());
+            for (PendingRecord pending : batch) {
+                String claimId = pending.request().getClaimId();
+                if (saved.saved().containsKey(claimId)) {
+                    results.add(new ItemResult(pending.index(), claimId, ItemResult.CREATED, null));
+                } else if (saved.existing().contains(claimId)) {
+                    results.add(new ItemResult(pending.index(), claimId, ItemResult.CONFLICT, "Claim already exists"));
+                } else {
+                    results.add(pending.failed("Write was not processed by DynamoDB"));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to write batch of {} claims: {}", batch.size(), e.getMessage(), e);
+            batch.forEach(pending -> results.add(pending.failed(e.getMessage())));
+        }
+    }
+
+    private record PendingRecord(int index, CreateClaimRequest request) {
+
+        ItemResult failed(String error) {
+            return new ItemResult(index, request.getClaimId(), ItemResult.FAILED, error);
+        }
+    }
+}
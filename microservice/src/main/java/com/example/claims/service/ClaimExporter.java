@@ -0,0 +1,143 @@
+package com.example.claims.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimExportSummary;
+import com.example.claims.repository.ClaimsRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Exports every claim as NDJSON using a parallel DynamoDB scan. Segments are scanned on the
+ * bounded {@code exportExecutor} and hand their pages to the writing thread through a queue of
+ * {@code app.export.queue-pages} pages; when the output is slower than the scan, the scanners
+ * block, so memory use does not grow with the table size.
+ */
+@Component
+public class ClaimExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimExporter.class);
+
+    public static final int MAX_SEGMENTS = 64;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final ClaimsRepository claimsRepository;
+    private final ObjectMapper objectMapper;
+    private final Executor exportExecutor;
+    private final int queuePages;
+
+    @Autowired
+    public ClaimExporter(ClaimsRepository claimsRepository, ObjectMapper objectMapper,
+                         @Qualifier("exportExecutor") Executor exportExecutor,
+                         @Value("${app.export.queue-pages:8}") int queuePages) {
+        this.claimsRepository = claimsRepository;
+        this.objectMapper = objectMapper;
+        this.exportExecutor = exportExecutor;
+        this.queuePages = queuePages;
+    }
+
+    public static void validateSegments(int segments) {
+        if (segments < 1 || segments > MAX_SEGMENTS) {
+            throw new IllegalArgumentException("segments must be between 1 and " + MAX_SEGMENTS);
+        }
+    }
+
+    /**
+     * Writes all claims to {@code out}, one JSON object per line, and closes it.
+     */
+    public ClaimExportSummary export(OutputStream out, int segments, boolean gzip) throws IOException {
+        validateSegments(segments);
+        long start = System.nanoTime();
+        BlockingQueue<List<Claim>> pages = new ArrayBlockingQueue<>(queuePages);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        DoubleAdder consumedCapacity = new DoubleAdder();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<Void>> scans = new ArrayList<>(segments);
+        for (int segment = 0; segment < segments; segment++) {
+            int current = segment;
+            scans.add(CompletableFuture.runAsync(() -> scan(current, segments, pages, cancelled, consumedCapacity),
+                            exportExecutor)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            failure.compareAndSet(null, error instanceof CompletionException ? error.getCause() : error);
+                        }
+                    }));
+        }
+        CompletableFuture<Void> allScans = CompletableFuture.allOf(scans.toArray(new CompletableFuture[0]));
+
+        long claims = 0;
+        long pageCount = 0;
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(gzip ? new GZIPOutputStream(out, 64 * 1024) : out)) {
+            while (true) {
+                if (failure.get() != null) {
+                    // Fail fast instead of waiting for the other segments to finish
+                    throw new IOException("Export scan failed: " + failure.get().getMessage(), failure.get());
+                }
+                List<Claim> page = pages.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (page != null) {
+                    for (Claim claim : page) {
+                        generator.writeObject(claim);
+                        generator.writeRaw('\n');
+                    }
+                    claims += page.size();
+                    pageCount++;
+                } else if (allScans.isDone() && failure.get() == null && pages.isEmpty()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } finally {
+            // Stops the scanners if the writer failed, e.g. because the client disconnected
+            cancelled.set(true);
+        }
+
+        ClaimExportSummary summary = new ClaimExportSummary(claims, pageCount, segments,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), consumedCapacity.sum());
+        logger.info("Claim export finished: {}", summary);
+        return summary;
+    }
+
+    private void scan(int segment, int totalSegments, BlockingQueue<List<Claim>> pages, AtomicBoolean cancelled,
+                      DoubleAdder consumedCapacity) {
+        try {
+            claimsRepository.scanSegment(segment, totalSegments, (claims, capacity) -> {
+                consumedCapacity.add(capacity);
+                while (!pages.offer(claims, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (cancelled.get()) {
+                        throw new CancellationException("Export cancelled");
+                    }
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -1,12 +1,32 @@
 package com.example.claims.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.claims.model.BatchGetClaimsResponse;
+import com.example.claims.model.BulkCreateClaimsResponse;
 import com.example.claims.model.Claim;
 import com.example.claims.model.ClaimSummary;
 import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.repository.CustomerClaimsPage;
+import com.example.claims.repository.ReadConsistency;
+import com.example.claims.repository.SummarySectionListener;
 
 public interface ClaimsService {
     Claim getClaim(String claimId);
+    Claim getClaim(String claimId, ReadConsistency consistency);
+    Map<String, Object> getClaim(String claimId, Set<String> fields);
+    BatchGetClaimsResponse getClaims(List<String> claimIds);
+    CustomerClaimsPage listClaimsByCustomer(String customerId, int limit, String cursor);
     ClaimSummary summarizeClaim(String claimId);
-    void generateClaimFiles(String claimId);
+    ClaimSummary streamSummary(String claimId, SummarySectionListener listener);
+    CompletableFuture<Void> generateClaimFiles(String claimId);
+    CompletableFuture<Void> dispatchClaimFiles(String claimId, String generationId);
     Claim createClaim(CreateClaimRequest request);
+    Claim createClaim(CreateClaimRequest request, String idempotencyKey);
+    BulkCreateClaimsResponse createClaims(InputStream body) throws IOException;
 }
\ No newline at end of file
@@ -1,21 +1,63 @@
 package com.example.claims.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.example.claims.config.TraceContext;
+import com.example.claims.model.BatchGetClaimsResponse;
+import com.example.claims.model.BulkCreateClaimsResponse;
 import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimFields;
 import com.example.claims.model.ClaimSummary;
 import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.repository.AsyncClaimsRepository;
+import com.example.claims.repository.ClaimAlreadyExistsException;
 import com.example.claims.repository.ClaimsRepository;
+import com.example.claims.repository.CustomerClaimsPage;
+import com.example.claims.repository.IdempotencyStore;
+import com.example.claims.repository.NotesPayload;
+import com.example.claims.repository.ReadConsistency;
+import com.example.claims.repository.SummarySectionListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class ClaimsServiceImpl implements ClaimsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ClaimsServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ClaimsRepository claimsRepository;
+    private final AsyncClaimsRepository asyncClaimsRepository;
+    private final BulkClaimIngestor bulkClaimIngestor;
+    private final IdempotencyStore idempotencyStore;
+    private final SingleFlight<String, ClaimSummary> summarizeCalls;
+    private final SingleFlight<String, Void> generateFilesCalls;
 
     @Autowired
-    public ClaimsServiceImpl(ClaimsRepository claimsRepository) {
+    public ClaimsServiceImpl(ClaimsRepository claimsRepository, AsyncClaimsRepository asyncClaimsRepository,
+                             BulkClaimIngestor bulkClaimIngestor, IdempotencyStore idempotencyStore,
+                             MeterRegistry meterRegistry) {
         this.claimsRepository = claimsRepository;
+        this.asyncClaimsRepository = asyncClaimsRepository;
+        this.bulkClaimIngestor = bulkClaimIngestor;
+        this.idempotencyStore = idempotencyStore;
+        this.summarizeCalls = new SingleFlight<>("summarize", meterRegistry);
+        this.generateFilesCalls = new SingleFlight<>("generate-files", meterRegistry);
     }
 
     @Override
@@ -28,29 +70,146 @@ public class ClaimsServiceImpl implements ClaimsService {
     }
 
     @Override
-    public ClaimSummary summarizeClaim(String claimId) {
-        Claim claim = claimsRepository.findById(claimId);
+    public Claim getClaim(String claimId, ReadConsistency consistency) {
+        Claim claim = claimsRepository.findById(claimId, consistency);
         if (claim == null) {
             throw new RuntimeException("Claim not found: " + claimId);
         }
+        return claim;
+    }
+
+    @Override
+    public Map<String, Object> getClaim(String claimId, Set<String> fields) {
+        Claim claim = claimsRepository.findById(claimId, fields);
+        if (claim == null) {
+            throw new RuntimeException("Claim not found: " + claimId);
+        }
+        // The repository may answer from a cached full claim, so trim to the selection here
+        return ClaimFields.select(claim, fields);
+    }
+
+    @Override
+    public BatchGetClaimsResponse getClaims(List<String> claimIds) {
+        // Preserve request order and drop duplicate IDs
+        List<String> uniqueIds = new ArrayList<>(new LinkedHashSet<>(claimIds));
+        Map<String, Claim> found = claimsRepository.findByIds(uniqueIds);
+
+        List<Claim> claims = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String claimId : uniqueIds) {
+            Claim claim = found.get(claimId);
+            if (claim != null) {
+                claims.add(claim);
+            } else {
+                missing.add(claimId);
+            }
+        }
+        return new BatchGetClaimsResponse(claims, missing);
+    }
+
+    @Override
+    public CustomerClaimsPage listClaimsByCustomer(String customerId, int limit, String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return claimsRepository.findByCustomerId(customerId, limit, cursor);
+    }
 
-        // Call Lambda function for AI summarization
-        return claimsRepository.generateSummary(claim);
+    @Override
+    public ClaimSummary summarizeClaim(String claimId) {
+        // Concurrent requests for the same claim share one summarizer invocation
+        return summarizeCalls.execute(claimId, () -> {
+            Claim claim = claimsRepository.findById(claimId);
+            if (claim == null) {
+                throw new RuntimeException("Claim not found: " + claimId);
+            }
+
+            // Call Lambda function for AI summarization
+            return claimsRepository.generateSummary(claim);
+        });
     }
 
     @Override
-    public void generateClaimFiles(String claimId) {
+    public ClaimSummary streamSummary(String claimId, SummarySectionListener listener) {
         Claim claim = claimsRepository.findById(claimId);
         if (claim == null) {
             throw new RuntimeException("Claim not found: " + claimId);
         }
 
+        // Each stream has its own listener, so streamed calls are not coalesced
+        return claimsRepository.generateSummary(claim, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> generateClaimFiles(String claimId) {
         // Call Lambda function to generate files
-        claimsRepository.generateClaimFiles(claim);
+        return generateFilesCalls.executeAsync(claimId,
+                () -> withClaimAndNotes(claimId, asyncClaimsRepository::generateClaimFiles));
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchClaimFiles(String claimId, String generationId) {
+        return withClaimAndNotes(claimId,
+                (claim, notes) -> asyncClaimsRepository.dispatchGenerateClaimFiles(claim, notes, generationId));
+    }
+
+    private CompletableFuture<Void> withClaimAndNotes(String claimId,
+                                                      BiFunction<Claim, NotesPayload, CompletableFuture<Void>> call) {
+        // The claim and its notes are independent reads, so fetch them in parallel
+        CompletableFuture<Claim> claimRead = asyncClaimsRepository.findById(claimId);
+        CompletableFuture<NotesPayload> notesRead = asyncClaimsRepository.getNotesPayload(claimId);
+
+        // The Lambda call starts on an SDK thread; keep it in the caller's trace
+        TraceContext trace = TraceContext.current();
+        return claimRead.thenCombine(notesRead, (claim, notes) -> {
+            if (claim == null) {
+                throw new RuntimeException("Claim not found: " + claimId);
+            }
+            return TraceContext.callWithin(trace, () -> call.apply(claim, notes));
+        }).thenCompose(Function.identity());
     }
 
     @Override
     public Claim createClaim(CreateClaimRequest request) {
         return claimsRepository.save(request);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Claim createClaim(CreateClaimRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createClaim(request);
+        }
+        Claim original = idempotencyStore.begin(idempotencyKey, request);
+        if (original != null) {
+            return original;
+        }
+        Claim claim;
+        try {
+            claim = claimsRepository.save(request);
+        } catch (ClaimAlreadyExistsException e) {
+            // An earlier request with this key may have written the claim but failed to record the key
+            claim = idempotencyStore.replayStored(request,
+                    claimsRepository.findById(request.getClaimId(), ReadConsistency.STRONG));
+            if (claim == null) {
+                idempotencyStore.release(idempotencyKey);
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            idempotencyStore.release(idempotencyKey);
+            throw e;
+        }
+        try {
+            idempotencyStore.complete(idempotencyKey, request, claim);
+        } catch (RuntimeException e) {
+            // The claim is written, so answer with it; a retry after the lease replays it from the table
+            logger.warn("Failed to record idempotency key {} for claim {}: {}", idempotencyKey,
+                    claim.getClaimId(), e.getMessage());
+        }
+        return claim;
+    }
+
+    @Override
+    public BulkCreateClaimsResponse createClaims(InputStream body) throws IOException {
+        return bulkClaimIngestor.ingest(body);
+    }
+}
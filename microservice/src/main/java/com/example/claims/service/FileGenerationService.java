@@ -0,0 +1,216 @@
+package com.example.claims.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.claims.model.FileGenerationStatus;
+import com.example.claims.repository.AsyncClaimsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fire-and-forget file generation. Requests wait in a bounded local queue until a dispatcher
+ * hands them to the generate-files Lambda as an {@code Event} invocation. Lambda does not report
+ * back, so each generation gets an ID that the Lambda stores on the files it writes, and it
+ * counts as done once all generated files in S3 carry that ID. S3 is checked when the status is
+ * polled, at most once per {@code app.file-generation.check-interval}. One generation per claim
+ * is tracked at a time.
+ */
+@Service
+public class FileGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileGenerationService.class);
+
+    private final ClaimsService claimsService;
+    private final AsyncClaimsRepository asyncClaimsRepository;
+    private final Executor executor;
+    private final Cache<String, TrackedGeneration> generations;
+    private final Duration timeout;
+    private final Duration checkInterval;
+    private final Clock clock;
+    private final Counter rejected;
+
+    @Autowired
+    public FileGenerationService(ClaimsService claimsService, AsyncClaimsRepository asyncClaimsRepository,
+                                 @Qualifier("fileGenerationExecutor") Executor executor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.file-generation.retention:1h}") Duration retention,
+                                 @Value("${app.file-generation.timeout:5m}") Duration timeout,
+                                 @Value("${app.file-generation.check-interval:2s}") Duration checkInterval) {
+        this(claimsService, asyncClaimsRepository, executor, meterRegistry, retention, timeout, checkInterval,
+                Clock.systemDefaultZone());
+    }
+
+    FileGenerationService(ClaimsService claimsService, AsyncClaimsRepository asyncClaimsRepository, Executor executor,
+                          MeterRegistry meterRegistry, Duration retention, Duration timeout, Duration checkInterval,
+                          Clock clock) {
+        this.claimsService = claimsService;
+        this.asyncClaimsRepository = asyncClaimsRepository;
+        this.executor = executor;
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+        this.timeout = timeout;
+        this.checkInterval = checkInterval;
+        this.clock = clock;
+        this.rejected = Counter.builder("claims.file-generation.rejected")
+                .description("File generations rejected because the dispatch queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues file generation for the claim. If a generation for the claim is still queued or
+     * running, that one is returned instead of starting another; one that has been running for
+     * longer than {@code app.file-generation.timeout} is replaced, even if nobody polled it.
+     *
+     * @throws RejectedExecutionException if the dispatch queue is full
+     */
+    public FileGenerationStatus submit(String claimId) {
+        Instant now = clock.instant();
+        TrackedGeneration[] created = new TrackedGeneration[1];
+        TrackedGeneration current = generations.asMap().compute(claimId, (id, existing) -> {
+            if (existing != null && !existing.isFinished()) {
+                if (!existing.isTimedOut(now, timeout)) {
+                    return existing;
+                }
+                logger.warn("File generation for claim {} timed out without files; starting a new one", id);
+            }
+            created[0] = new TrackedGeneration(id, UUID.randomUUID().toString(), LocalDateTime.now(clock));
+            return created[0];
+        });
+        if (created[0] == null) {
+            logger.info("File generation for claim {} is already {}", claimId, current.status);
+            return current.snapshot(clock.getZone());
+        }
+
+        try {
+            executor.execute(() -> dispatch(created[0]));
+        } catch (RejectedExecutionException e) {
+            generations.asMap().remove(claimId, created[0]);
+            rejected.increment();
+            throw e;
+        }
+        logger.info("Queued file generation for claim {}", claimId);
+        return created[0].snapshot(clock.getZone());
+    }
+
+    /**
+     * Completes with the current status, checking S3 for the generated files if the generation
+     * is running. Completes with {@code null} if no generation is known for the claim.
+     */
+    public CompletableFuture<FileGenerationStatus> getStatus(String claimId) {
+        TrackedGeneration generation = generations.getIfPresent(claimId);
+        if (generation == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Instant now = clock.instant();
+        if (!FileGenerationStatus.RUNNING.equals(generation.status) || !generation.claimCheck(now, checkInterval)) {
+            return CompletableFuture.completedFuture(generation.snapshot(clock.getZone()));
+        }
+
+        return asyncClaimsRepository.findGeneratedFiles(claimId, generation.generationId)
+                .handle((files, e) -> {
+                    if (e != null) {
+                        // Keep the generation running; the next poll checks again
+                        logger.warn("Could not check generated files of claim {}: {}", claimId, e.getMessage());
+                    } else if (!files.isEmpty()) {
+                        finish(generation, FileGenerationStatus.DONE, files, null);
+                    } else if (generation.isTimedOut(now, timeout)) {
+                        finish(generation, FileGenerationStatus.FAILED, null,
+                                "Generated files did not appear within " + timeout);
+                    }
+                    return generation.snapshot(clock.getZone());
+                });
+    }
+
+    private void dispatch(TrackedGeneration generation) {
+        Instant dispatchedAt = clock.instant();
+        try {
+            claimsService.dispatchClaimFiles(generation.claimId, generation.generationId).join();
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.error("File generation for claim {} could not be dispatched: {}", generation.claimId,
+                    cause.getMessage(), cause);
+            finish(generation, FileGenerationStatus.FAILED, null, cause.getMessage());
+            return;
+        }
+        generation.dispatchedAt = dispatchedAt;
+        generation.status = FileGenerationStatus.RUNNING;
+        logger.info("Dispatched file generation for claim {}", generation.claimId);
+    }
+
+    private void finish(TrackedGeneration generation, String status, List<String> files, String error) {
+        generation.files = files;
+        generation.error = error;
+        generation.completedAt = LocalDateTime.now(clock);
+        generation.status = status;
+        // Re-insert so the retention window starts when the outcome is known
+        generations.asMap().replace(generation.claimId, generation, generation);
+        logger.info("File generation for claim {} finished with status {}", generation.claimId, status);
+    }
+
+    private static final class TrackedGeneration {
+
+        private final String claimId;
+        private final String generationId;
+        private final LocalDateTime submittedAt;
+        private volatile String status = FileGenerationStatus.QUEUED;
+        private volatile Instant dispatchedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile List<String> files;
+        private volatile String error;
+        private Instant lastCheck;
+
+        TrackedGeneration(String claimId, String generationId, LocalDateTime submittedAt) {
+            this.claimId = claimId;
+            this.generationId = generationId;
+            this.submittedAt = submittedAt;
+        }
+
+        // Lets one poller per interval check S3; the others return the last known status
+        synchronized boolean claimCheck(Instant now, Duration interval) {
+            if (lastCheck != null && Duration.between(lastCheck, now).compareTo(interval) < 0) {
+                return false;
+            }
+            lastCheck = now;
+            return true;
+        }
+
+        boolean isTimedOut(Instant now, Duration timeout) {
+            Instant dispatched = dispatchedAt;
+            return FileGenerationStatus.RUNNING.equals(status) && dispatched != null
+                    && Duration.between(dispatched, now).compareTo(timeout) > 0;
+        }
+
+        boolean isFinished() {
+            return FileGenerationStatus.DONE.equals(status) || FileGenerationStatus.FAILED.equals(status);
+        }
+
+        FileGenerationStatus snapshot(ZoneId zone) {
+            // Read status first: the other fields are written before it changes
+            String currentStatus = status;
+            Instant dispatched = dispatchedAt;
+            return new FileGenerationStatus(claimId, currentStatus, submittedAt,
+                    dispatched == null ? null : LocalDateTime.ofInstant(dispatched, zone), completedAt, files, error);
+        }
+    }
+}
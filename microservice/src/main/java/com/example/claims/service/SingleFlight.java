@@ -0,0 +1,106 @@
+package com.example.claims.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent calls for the same key into a single downstream invocation.
+ * The first caller runs the call; callers that arrive while it is in flight wait for
+ * and share its result (or its exception). Nothing is retained once the call completes.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("claims.singleflight.calls")
+                .description("Downstream calls executed by the single-flight group")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("claims.singleflight.collapsed")
+                .description("Calls that joined an in-flight call instead of invoking downstream")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("claims.singleflight.inflight", inFlight, ConcurrentMap::size)
+                .description("Keys with a downstream call currently in flight")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V value = call.get();
+            promise.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the call returns a future, and callers that
+     * arrive while it is pending get a view of the same result.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            collapsed.increment();
+            return existing.copy();
+        }
+
+        executed.increment();
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                promise.complete(value);
+            }
+        });
+        // Callers get a copy so cancelling one of them does not affect the others
+        return promise.copy();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
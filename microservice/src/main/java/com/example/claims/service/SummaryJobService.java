@@ -0,0 +1,151 @@
+package com.example.claims.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.claims.model.ClaimSummary;
+import com.example.claims.model.SummaryJob;
+import com.example.claims.repository.SummarySectionListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs claim summarization in the background so the request thread is released immediately.
+ * Jobs run on a bounded executor and are kept for a retention window after they were last
+ * updated, after which their status and result are no longer available.
+ */
+@Service
+public class SummaryJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryJobService.class);
+
+    private final ClaimsService claimsService;
+    private final Executor executor;
+    private final Cache<String, TrackedJob> jobs;
+    private final Duration maxWait;
+    private final Counter rejected;
+
+    @Autowired
+    public SummaryJobService(ClaimsService claimsService,
+                             @Qualifier("summaryJobExecutor") Executor executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.summary-jobs.retention:15m}") Duration retention,
+                             @Value("${app.summary-jobs.max-wait:25s}") Duration maxWait) {
+        this.claimsService = claimsService;
+        this.executor = executor;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+        this.maxWait = maxWait;
+        this.rejected = Counter.builder("claims.summary.jobs.rejected")
+                .description("Summarize jobs rejected because the job queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a summarize job for the claim.
+     *
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public SummaryJob submit(String claimId) {
+        TrackedJob job = new TrackedJob(UUID.randomUUID().toString(), claimId, LocalDateTime.now());
+        jobs.put(job.jobId, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.jobId);
+            rejected.increment();
+            throw e;
+        }
+        logger.info("Queued summarize job {} for claim {}", job.jobId, claimId);
+        return job.snapshot();
+    }
+
+    public SummaryJob getJob(String jobId) {
+        TrackedJob job = jobs.getIfPresent(jobId);
+        return job == null ? null : job.snapshot();
+    }
+
+    /**
+     * Completes with the job state once the job has finished or {@code wait} (capped at
+     * {@code app.summary-jobs.max-wait}) has elapsed, whichever comes first. Completes with
+     * {@code null} if the job is unknown or has expired.
+     */
+    public CompletableFuture<SummaryJob> awaitJob(String jobId, Duration wait) {
+        TrackedJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long waitMillis = Math.max(0, Math.min(wait.toMillis(), maxWait.toMillis()));
+        return job.completion.copy()
+                .completeOnTimeout(null, waitMillis, TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> job.snapshot());
+    }
+
+    /**
+     * Runs a streamed summarization on the job executor, reporting each section to the
+     * listener as it becomes available.
+     *
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public CompletableFuture<ClaimSummary> streamSummary(String claimId, SummarySectionListener listener) {
+        return CompletableFuture.supplyAsync(() -> claimsService.streamSummary(claimId, listener), executor);
+    }
+
+    private void run(TrackedJob job) {
+        job.status = SummaryJob.RUNNING;
+        String finalStatus;
+        try {
+            job.summary = claimsService.summarizeClaim(job.claimId);
+            finalStatus = SummaryJob.SUCCEEDED;
+        } catch (RuntimeException e) {
+            logger.error("Summarize job {} for claim {} failed: {}", job.jobId, job.claimId, e.getMessage(), e);
+            job.error = e.getMessage();
+            finalStatus = SummaryJob.FAILED;
+        }
+        job.completedAt = LocalDateTime.now();
+        job.status = finalStatus;
+        // Re-insert so the retention window starts when the result becomes available
+        jobs.put(job.jobId, job);
+        job.completion.complete(null);
+    }
+
+    private static final class TrackedJob {
+
+        private final String jobId;
+        private final String claimId;
+        private final LocalDateTime submittedAt;
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile String status = SummaryJob.QUEUED;
+        private volatile LocalDateTime completedAt;
+        private volatile ClaimSummary summary;
+        private volatile String error;
+
+        TrackedJob(String jobId, String claimId, LocalDateTime submittedAt) {
+            this.jobId = jobId;
+            this.claimId = claimId;
+            this.submittedAt = submittedAt;
+        }
+
+        SummaryJob snapshot() {
+            // Read status first: the other fields are written before it changes
+            String currentStatus = status;
+            return new SummaryJob(jobId, claimId, currentStatus, submittedAt, completedAt, summary, error);
+        }
+    }
+}
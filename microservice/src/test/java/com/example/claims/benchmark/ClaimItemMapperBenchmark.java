@@ -0,0 +1,118 @@
+package com.example.claims.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.repository.ClaimItemMapper;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Compares {@link ClaimItemMapper} with the DateTimeFormatter-based mapping it replaced.
+ * Run with the GC profiler to see allocation per operation:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ClaimItemMapperBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClaimItemMapperBenchmark {
+
+    private CreateClaimRequest request;
+    private LocalDateTime now;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    public void setUp() {
+        request = new CreateClaimRequest("claim-1616161616", "cust-42", "UNDER_REVIEW",
+                "Rear-end collision at a traffic light; front bumper and headlights damaged", 2450.75);
+        now = LocalDateTime.of(2025, 12, 1, 12, 5, 0, 123_456_000);
+        item = Map.of(
+            "claimId", AttributeValue.fromS("claim-1616161616"),
+            "customerId", AttributeValue.fromS("cust-42"),
+            "status", AttributeValue.fromS("UNDER_REVIEW"),
+            "description", AttributeValue.fromS(request.getDescription()),
+            "amount", AttributeValue.fromN("2450.75"),
+            "createdDate", AttributeValue.fromS("2025-12-01T12:05:00.123456"),
+            "updatedDate", AttributeValue.fromS("2025-12-03T08:41:17.5"),
+            "notes", AttributeValue.fromL(List.of(
+                AttributeValue.fromS("Photos received"),
+                AttributeValue.fromS("Repair estimate requested"),
+                AttributeValue.fromS("Adjuster assigned"))));
+    }
+
+    @Benchmark
+    public Claim readItemLegacy() {
+        return legacyMapToClaim(item);
+    }
+
+    @Benchmark
+    public Claim readItemMapper() {
+        return ClaimItemMapper.toClaim(item);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> writeItemLegacy() {
+        return legacyToItem(request, now);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> writeItemMapper() {
+        return ClaimItemMapper.toItem(request, now);
+    }
+
+    // Copies of the mapping previously in ClaimsRepositoryImpl, kept as the baseline
+    private static Claim legacyMapToClaim(Map<String, AttributeValue> item) {
+        List<String> notes = new ArrayList<>();
+        if (item.containsKey("notes") && item.get("notes").l() != null) {
+            for (AttributeValue noteValue : item.get("notes").l()) {
+                notes.add(noteValue.s());
+            }
+        }
+
+        return new Claim(
+            item.get("claimId").s(),
+            item.get("customerId").s(),
+            item.get("status").s(),
+            item.get("description").s(),
+            LocalDateTime.parse(item.get("createdDate").s(), DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+            LocalDateTime.parse(item.get("updatedDate").s(), DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+            notes,
+            Double.parseDouble(item.get("amount").n())
+        );
+    }
+
+    private static Map<String, AttributeValue> legacyToItem(CreateClaimRequest request, LocalDateTime now) {
+        return Map.of(
+            "claimId", AttributeValue.builder().s(request.getClaimId()).build(),
+            "customerId", AttributeValue.builder().s(request.getCustomerId()).build(),
+            "status", AttributeValue.builder().s(request.getStatus()).build(),
+            "description", AttributeValue.builder().s(request.getDescription()).build(),
+            "amount", AttributeValue.builder().n(String.valueOf(request.getAmount())).build(),
+            "createdDate", AttributeValue.builder().s(now.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).build(),
+            "updatedDate", AttributeValue.builder().s(now.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).build()
+        );
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.claims.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.example.claims.ClaimsApplication;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under concurrent summarize
+ * traffic against a slow summarizer Lambda. DynamoDB, S3 and Lambda are replaced by in-process
+ * stubs, so the numbers reflect thread scheduling in the service rather than the AWS HTTP pool.
+ * The DynamoDB stub answers after a GetItem-like delay, so claim cache misses block the request
+ * thread the way a real read does.
+ *
+ * <p>Not part of the regular test run; start it explicitly with
+ * {@code mvn test -Dtest=VirtualThreadsLoadBenchmark}. Tunables (system properties):
+ * {@code bench.requests} (default 2000), {@code bench.concurrency} (400),
+ * {@code bench.dynamodb-latency-ms} (8) and {@code bench.lambda-latency-ms} (300).
+ */
+class VirtualThreadsLoadBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 400);
+    private static final long DYNAMODB_LATENCY_MS = Long.getLong("bench.dynamodb-latency-ms", 8);
+    private static final long LAMBDA_LATENCY_MS = Long.getLong("bench.lambda-latency-ms", 300);
+
+    private static final String SUMMARY_RESPONSE = "{\"summaries\": {\"overall\": \"Overall\", \"customer\": \"Customer\", "
+            + "\"adjuster\": \"Adjuster\", \"recommendation\": \"Recommendation\"}}";
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-9s %10s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms");
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertThat(platform.failures).isZero();
+        assertThat(virtual.failures).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientThreads)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            // Warm up the JIT and the connection pool before measuring
+            drive(client, port, mode + "-warmup", Math.min(REQUESTS, CONCURRENCY));
+            return drive(client, port, mode, REQUESTS);
+        }
+    }
+
+    private Result drive(HttpClient client, int port, String runId, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[requests];
+        List<CompletableFuture<Void>> calls = new ArrayList<>(requests);
+        int[] failures = new int[1];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int slot = i;
+            // Unique claim IDs keep the claim and summary caches and single-flight out of the picture
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + "/api/v1/claims/" + runId + "-" + i + "/summarize"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            long sent = System.nanoTime();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[slot] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            synchronized (failures) {
+                                failures[0]++;
+                            }
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(runId, requests * 1_000_000_000.0 / elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1_000_000,
+                failures[0]);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000;
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(DYNAMODB_LATENCY_MS);
+            String claimId = invocation.<GetItemRequest>getArgument(0).key().get("claimId").s();
+            return GetItemResponse.builder().item(claimItem(claimId)).build();
+        });
+
+        // The summary cache key includes the notes object's ETag
+        S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(HeadObjectResponse.builder().eTag("\"benchmark\"").build()));
+
+        LambdaClient lambdaClient = mock(LambdaClient.class);
+        when(lambdaClient.invoke(any(InvokeRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(LAMBDA_LATENCY_MS);
+            return InvokeResponse.builder().payload(SdkBytes.fromUtf8String(SUMMARY_RESPONSE)).build();
+        });
+
+        return new SpringApplicationBuilder(ClaimsApplication.class)
+                .initializers(context -> {
+                    GenericApplicationContext generic = (GenericApplicationContext) context;
+                    generic.registerBean("benchmarkDynamoDbClient", DynamoDbClient.class, () -> dynamoDbClient,
+                            definition -> definition.setPrimary(true));
+                    generic.registerBean("benchmarkS3AsyncClient", S3AsyncClient.class, () -> s3AsyncClient,
+                            definition -> definition.setPrimary(true));
+                    generic.registerBean("benchmarkLambdaClient", LambdaClient.class, () -> lambdaClient,
+                            definition -> definition.setPrimary(true));
+                })
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        // Load shedding would turn the comparison into one of rejected requests
+                        "app.bulkhead.enabled=false",
+                        "logging.level.com.example.claims=WARN")
+                .run();
+    }
+
+    private static Map<String, AttributeValue> claimItem(String claimId) {
+        String now = LocalDateTime.now().toString();
+        return Map.of(
+                "claimId", AttributeValue.builder().s(claimId).build(),
+                "customerId", AttributeValue.builder().s("cust-1").build(),
+                "status", AttributeValue.builder().s("PENDING").build(),
+                "description", AttributeValue.builder().s("Benchmark claim").build(),
+                "createdDate", AttributeValue.builder().s(now).build(),
+                "updatedDate", AttributeValue.builder().s(now).build(),
+                "amount", AttributeValue.builder().n("100.0").build());
+    }
+
+    private record Result(String mode, double throughput, long p50, long p99, long max, int failures) {
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %10.1f %10d %10d %10d", mode, throughput, p50, p99, max)
+                    + (failures > 0 ? "  (" + failures + " failed)" : "");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.claims.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AwsCallMetricsPublisherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AwsCallMetricsPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new AwsCallMetricsPublisher("dynamodb", meterRegistry);
+    }
+
+    @Test
+    void publish_SuccessfulCall_RecordsDurationByOperation() {
+        // Given
+        MetricCollector apiCall = apiCall("GetItem", Duration.ofMillis(12), true);
+        apiCall.createChild("ApiCallAttempt").reportMetric(HttpMetric.HTTP_STATUS_CODE, 200);
+
+        // When
+        publisher.publish(apiCall.collect());
+
+        // Then
+        Timer timer = timer("GetItem", "SUCCESS");
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12.0);
+    }
+
+    @Test
+    void publish_LastAttemptThrottled_RecordsThrottledOutcome() {
+        // Given - a 5xx attempt followed by a throttled one
+        MetricCollector apiCall = apiCall("Query", Duration.ofMillis(80), false);
+        MetricCollector first = apiCall.createChild("ApiCallAttempt");
+        first.reportMetric(HttpMetric.HTTP_STATUS_CODE, 500);
+        first.reportMetric(CoreMetric.ERROR_TYPE, "ServerError");
+        MetricCollector second = apiCall.createChild("ApiCallAttempt");
+        second.reportMetric(HttpMetric.HTTP_STATUS_CODE, 400);
+        second.reportMetric(CoreMetric.ERROR_TYPE, "Throttling");
+
+        // When
+        publisher.publish(apiCall.collect());
+
+        // Then
+        assertThat(timer("Query", "THROTTLED").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("claims.aws.calls").tag("outcome", "SERVER_ERROR").timer()).isNull();
+    }
+
+    private static MetricCollector apiCall(String operation, Duration duration, boolean successful) {
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, operation);
+        apiCall.reportMetric(CoreMetric.API_CALL_DURATION, duration);
+        apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, successful);
+        return apiCall;
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return meterRegistry.get("claims.aws.calls")
+                .tag("client", "dynamodb")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.claims.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AwsHttpPropertiesTest {
+
+    @Test
+    void forClient_WithOverrides_AppliesThemOnTopOfSharedValues() {
+        // Given
+        AwsHttpProperties properties = new AwsHttpProperties();
+        properties.setSocketTimeout(Duration.ofSeconds(30));
+        AwsHttpTransport lambda = new AwsHttpTransport();
+        lambda.setSocketTimeout(Duration.ofMinutes(2));
+        lambda.setAsyncClient(AwsHttpTransport.AsyncClientType.CRT);
+        properties.setClients(Map.of("lambda", lambda));
+
+        // When
+        AwsHttpTransport resolved = properties.forClient("lambda");
+
+        // Then
+        assertThat(resolved.getSocketTimeout()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(resolved.getAsyncClient()).isEqualTo(AwsHttpTransport.AsyncClientType.CRT);
+        assertThat(resolved.getSyncClient()).isEqualTo(AwsHttpTransport.SyncClientType.APACHE);
+        assertThat(resolved.getMaxConnections()).isEqualTo(200);
+    }
+
+    @Test
+    void forClient_WithoutOverrides_UsesSharedValues() {
+        // Given
+        AwsHttpProperties properties = new AwsHttpProperties();
+        properties.setTcpKeepAlive(true);
+
+        // When
+        AwsHttpTransport resolved = properties.forClient("dynamodb");
+
+        // Then
+        assertThat(resolved.getTcpKeepAlive()).isTrue();
+        assertThat(resolved.getConnectionAcquisitionTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(resolved.getConnectionTimeToLive()).isNull();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.claims.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportOutputEnvironmentPostProcessorTest {
+
+    private final ExportOutputEnvironmentPostProcessor postProcessor = new ExportOutputEnvironmentPostProcessor();
+
+    @Test
+    void postProcessEnvironment_ExportToStdout_MovesLoggingToStderr() {
+        // Given
+        MockEnvironment environment = new MockEnvironment().withProperty("app.export.output", "-");
+
+        // When
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Then
+        assertThat(environment.getProperty(ExportOutputEnvironmentPostProcessor.CONSOLE_TARGET)).isEqualTo("System.err");
+        assertThat(environment.getProperty("spring.main.banner-mode")).isEqualTo("off");
+    }
+
+    @Test
+    void postProcessEnvironment_ExportToFile_KeepsConsoleLogging() {
+        // Given
+        MockEnvironment environment = new MockEnvironment().withProperty("app.export.output", "claims.ndjson.gz");
+
+        // When
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Then
+        assertThat(environment.getProperty(ExportOutputEnvironmentPostProcessor.CONSOLE_TARGET)).isNull();
+    }
+}
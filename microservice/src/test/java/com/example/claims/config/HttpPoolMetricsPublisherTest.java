@@ -0,0 +1,59 @@
+package com.example.claims.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpPoolMetricsPublisherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HttpPoolMetricsPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new HttpPoolMetricsPublisher("dynamodb", "sync", meterRegistry);
+    }
+
+    @Test
+    void publish_NestedHttpClientMetrics_UpdatesPoolGauges() {
+        // Given - the SDK reports pool state on the HttpClient collection of each attempt
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        MetricCollector httpClient = apiCall.createChild("ApiCallAttempt").createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, 7);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 2);
+        httpClient.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 3);
+        httpClient.reportMetric(HttpMetric.MAX_CONCURRENCY, 200);
+
+        // When
+        publisher.publish(apiCall.collect());
+
+        // Then
+        assertThat(gauge("aws.http.pool.last-observed.leased")).isEqualTo(7);
+        assertThat(gauge("aws.http.pool.last-observed.pending")).isEqualTo(2);
+        assertThat(gauge("aws.http.pool.last-observed.available")).isEqualTo(3);
+        assertThat(gauge("aws.http.pool.last-observed.max")).isEqualTo(200);
+    }
+
+    @Test
+    void publish_CallWithoutPoolMetrics_KeepsLastValues() {
+        // Given
+        MetricCollector first = MetricCollector.create("ApiCall");
+        first.createChild("ApiCallAttempt").createChild("HttpClient").reportMetric(HttpMetric.LEASED_CONCURRENCY, 4);
+        publisher.publish(first.collect());
+
+        // When
+        publisher.publish(MetricCollector.create("ApiCall").collect());
+
+        // Then
+        assertThat(gauge("aws.http.pool.last-observed.leased")).isEqualTo(4);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("client", "dynamodb").tag("transport", "sync").gauge().value();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.claims.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void fromTraceparent_ValidHeader_ContinuesTraceWithNewSpan() {
+        // When
+        TraceContext trace = TraceContext.fromTraceparent(TRACEPARENT);
+
+        // Then
+        assertThat(trace.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(trace.getSpanId()).hasSize(16).isNotEqualTo("00f067aa0ba902b7");
+        assertThat(trace.toTraceparent()).startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-").endsWith("-01");
+    }
+
+    @Test
+    void fromTraceparent_NoHeader_StartsTraceIdWithEpochSeconds() {
+        // Given
+        long before = Instant.now().getEpochSecond();
+
+        // When
+        TraceContext trace = TraceContext.fromTraceparent(null);
+
+        // Then - X-Ray reads the first 8 hex digits as the request time
+        long timestamp = Long.parseLong(trace.getTraceId().substring(0, 8), 16);
+        assertThat(timestamp).isBetween(before, Instant.now().getEpochSecond());
+        assertThat(trace.toXrayTraceHeader()).isEqualTo("Root=1-" + trace.getTraceId().substring(0, 8) + "-"
+                + trace.getTraceId().substring(8) + ";Parent=" + trace.getSpanId() + ";Sampled=1");
+    }
+
+    @Test
+    void toXrayTraceHeader_TraceIdWithoutRecentTimestamp_ReturnsNull() {
+        // Given - 4bf92f35 is a timestamp from 2010, which X-Ray would drop
+        TraceContext old = TraceContext.fromTraceparent(TRACEPARENT);
+        String recentPrefix = HexFormat.of().toHexDigits((int) Instant.now().minus(Duration.ofHours(1)).getEpochSecond());
+        TraceContext recent = TraceContext.fromTraceparent("00-" + recentPrefix + "77b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        // When & Then
+        assertThat(old.toXrayTraceHeader()).isNull();
+        assertThat(recent.toXrayTraceHeader()).startsWith("Root=1-" + recentPrefix + "-77b34da6a3ce929d0e0e4736;");
+    }
+
+    @Test
+    void fromTraceparent_MalformedOrZeroHeader_StartsNewTrace() {
+        // When
+        TraceContext missing = TraceContext.fromTraceparent(null);
+        TraceContext uppercase = TraceContext.fromTraceparent(TRACEPARENT.toUpperCase());
+        TraceContext zeroTrace = TraceContext.fromTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01");
+
+        // Then
+        for (TraceContext trace : new TraceContext[] {missing, uppercase, zeroTrace}) {
+            assertThat(trace.getTraceId()).matches("[0-9a-f]{32}").isNotEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+            assertThat(trace.isSampled()).isTrue();
+        }
+        assertThat(missing.getTraceId()).isNotEqualTo(uppercase.getTraceId());
+    }
+
+    @Test
+    void propagate_TaskOnAnotherThread_RunsWithSubmittersContext() throws InterruptedException {
+        // Given
+        TraceContext trace = TraceContext.fromTraceparent(TRACEPARENT);
+        trace.bind();
+        AtomicReference<String> seen = new AtomicReference<>();
+        Runnable task = TraceContext.propagate(() -> seen.set(TraceContext.current().toTraceparent()));
+
+        // When
+        Thread worker = new Thread(task);
+        worker.start();
+        worker.join();
+
+        // Then
+        assertThat(seen.get()).isEqualTo(trace.toTraceparent());
+    }
+
+    @Test
+    void callWithin_ThreadHasOwnContext_RestoresItAfterwards() {
+        // Given
+        TraceContext own = TraceContext.fromTraceparent(null);
+        own.bind();
+        TraceContext other = TraceContext.fromTraceparent(TRACEPARENT);
+
+        // When
+        String inside = TraceContext.callWithin(other, () -> TraceContext.current().getTraceId());
+
+        // Then
+        assertThat(inside).isEqualTo(other.getTraceId());
+        assertThat(TraceContext.current().getTraceId()).isEqualTo(own.getTraceId());
+    }
+}
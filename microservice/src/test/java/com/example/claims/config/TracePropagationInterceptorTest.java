@@ -0,0 +1,101 @@
+package com.example.claims.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TracePropagationInterceptorTest {
+
+    private final TracePropagationInterceptor interceptor = new TracePropagationInterceptor();
+    private ExecutionAttributes attributes;
+    private TraceContext trace;
+
+    @BeforeEach
+    void setUp() {
+        // Given - a call started while handling a traced request
+        attributes = startCall(TraceContext.fromTraceparent(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void modifyRequest_SynchronousInvoke_AddsTraceparentClientContext() {
+        // Given
+        Context.ModifyRequest context = mock(Context.ModifyRequest.class);
+        when(context.request()).thenReturn(InvokeRequest.builder().functionName("claims-summarizer-lambda").build());
+
+        // When
+        InvokeRequest request = (InvokeRequest) interceptor.modifyRequest(context, attributes);
+
+        // Then
+        String clientContext = new String(Base64.getDecoder().decode(request.clientContext()), StandardCharsets.UTF_8);
+        assertThat(clientContext).isEqualTo("{\"custom\":{\"traceparent\":\"" + trace.toTraceparent() + "\"}}");
+    }
+
+    @Test
+    void modifyRequest_EventInvoke_LeavesRequestUnchanged() {
+        // Given
+        InvokeRequest event = InvokeRequest.builder().functionName("claims-generate-files")
+                .invocationType(InvocationType.EVENT).build();
+        Context.ModifyRequest context = mock(Context.ModifyRequest.class);
+        when(context.request()).thenReturn(event);
+
+        // When & Then
+        assertThat(interceptor.modifyRequest(context, attributes)).isSameAs(event);
+    }
+
+    @Test
+    void modifyHttpRequest_TracedCall_AddsXrayHeader() {
+        // Given
+        Context.ModifyHttpRequest context = mock(Context.ModifyHttpRequest.class);
+        when(context.httpRequest()).thenReturn(SdkHttpFullRequest.builder()
+                .method(SdkHttpMethod.POST).protocol("https").host("dynamodb.us-east-1.amazonaws.com").build());
+
+        // When
+        SdkHttpRequest request = interceptor.modifyHttpRequest(context, attributes);
+
+        // Then
+        assertThat(request.firstMatchingHeader(TracePropagationInterceptor.XRAY_TRACE_HEADER))
+                .contains(trace.toXrayTraceHeader());
+    }
+
+    @Test
+    void modifyHttpRequest_TraceIdWithoutRecentTimestamp_SkipsXrayHeader() {
+        // Given - a continued trace whose ID does not start with a recent timestamp
+        attributes = startCall(TraceContext.fromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        Context.ModifyHttpRequest context = mock(Context.ModifyHttpRequest.class);
+        SdkHttpFullRequest httpRequest = SdkHttpFullRequest.builder()
+                .method(SdkHttpMethod.POST).protocol("https").host("dynamodb.us-east-1.amazonaws.com").build();
+        when(context.httpRequest()).thenReturn(httpRequest);
+
+        // When & Then
+        assertThat(interceptor.modifyHttpRequest(context, attributes)).isSameAs(httpRequest);
+    }
+
+    private ExecutionAttributes startCall(TraceContext callerTrace) {
+        trace = callerTrace;
+        trace.bind();
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), executionAttributes);
+        MDC.clear();
+        return executionAttributes;
+    }
+}
@@ -1,27 +1,57 @@
 package com.example.claims.controller;
 
+import com.example.claims.model.BatchGetClaimsRequest;
+import com.example.claims.model.BatchGetClaimsResponse;
+import com.example.claims.model.BulkCreateClaimsResponse;
 import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimExportSummary;
 import com.example.claims.model.ClaimSummary;
 import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.model.FileGenerationStatus;
+import com.example.claims.model.SummaryJob;
+import com.example.claims.repository.BulkheadFullException;
+import com.example.claims.repository.CircuitOpenException;
+import com.example.claims.repository.IdempotencyKeyConflictException;
+import com.example.claims.repository.ReadConsistency;
+import com.example.claims.repository.SummarySectionListener;
+import com.example.claims.service.ClaimExporter;
 import com.example.claims.service.ClaimsService;
+import com.example.claims.service.FileGenerationService;
+import com.example.claims.service.SummaryJobService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +71,15 @@ class ClaimsControllerTest {
     @MockBean
     private ClaimsService claimsService;
 
+    @MockBean
+    private SummaryJobService summaryJobService;
+
+    @MockBean
+    private ClaimExporter claimExporter;
+
+    @MockBean
+    private FileGenerationService fileGenerationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -77,6 +116,146 @@ class ClaimsControllerTest {
                 .andExpect(jsonPath("$.customerId").value("test-customer-456"));
     }
 
+    @Test
+    void getClaim_IncomingTraceparent_ContinuesTrace() throws Exception {
+        // Given
+        when(claimsService.getClaim("test-claim-123")).thenReturn(testClaim);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/test-claim-123")
+                        .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("traceparent",
+                        matchesPattern("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01")));
+    }
+
+    @Test
+    void generateClaimFiles_IncomingTraceparent_KeepsOneSpanAcrossAsyncDispatch() throws Exception {
+        // Given
+        when(claimsService.generateClaimFiles("test-claim-123")).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/claims/test-claim-123/generate")
+                        .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String traceparent = result.getResponse().getHeader("traceparent");
+
+        // Then - the request thread is released without the request's MDC
+        assertThat(MDC.get("traceId")).isNull();
+        assertThat(traceparent).matches("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01");
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("traceparent", traceparent));
+        assertThat(MDC.get("traceId")).isNull();
+    }
+
+    @Test
+    void getClaim_StrongConsistency_UsesConsistentRead() throws Exception {
+        // Given
+        when(claimsService.getClaim("test-claim-123", ReadConsistency.STRONG)).thenReturn(testClaim);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/test-claim-123").param("consistency", "strong"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claimId").value("test-claim-123"));
+    }
+
+    @Test
+    void getClaim_UnknownConsistency_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/test-claim-123").param("consistency", "linearizable"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getClaim_WithFields_ReturnsOnlySelectedFields() throws Exception {
+        // Given
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("status", "UNDER_REVIEW");
+        fields.put("amount", 1500.0);
+        when(claimsService.getClaim("test-claim-123", Set.of("status", "amount"))).thenReturn(fields);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/test-claim-123").param("fields", "status,amount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UNDER_REVIEW"))
+                .andExpect(jsonPath("$.amount").value(1500.0))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.notes").doesNotExist());
+    }
+
+    @Test
+    void getClaim_UnknownField_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/test-claim-123").param("fields", "status,secret"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown claim field: secret"));
+    }
+
+    @Test
+    void listClaimsByCustomer_Page_StreamsClaimsAndNextCursor() throws Exception {
+        // Given
+        when(claimsService.listClaimsByCustomer("test-customer-456", 2, null)).thenReturn(sink -> {
+            sink.accept(testClaim);
+            return "next-page";
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/claims").param("customerId", "test-customer-456").param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claims[0].claimId").value("test-claim-123"))
+                .andExpect(jsonPath("$.claims.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+    }
+
+    @Test
+    void exportClaims_Gzip_StreamsNdjsonWithContentEncoding() throws Exception {
+        // Given
+        when(claimExporter.export(any(), eq(8), eq(true))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"claimId\":\"test-claim-123\"}\n".getBytes(StandardCharsets.UTF_8));
+            return new ClaimExportSummary(1, 1, 8, 5, 0.5);
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/claims/export").param("segments", "8").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        // The export outlives the default async timeout
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(1).toMillis());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"claimId\":\"test-claim-123\"}\n"));
+    }
+
+    @Test
+    void exportClaims_TooManySegments_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/export").param("segments", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listClaimsByCustomer_InvalidCursor_ReturnsBadRequest() throws Exception {
+        // Given
+        when(claimsService.listClaimsByCustomer("test-customer-456", 50, "bogus"))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims").param("customerId", "test-customer-456").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getClaim_NonExistingClaim_ReturnsNotFound() throws Exception {
         // Given
@@ -87,6 +266,41 @@ class ClaimsControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getClaim_DependencyAtLimit_ReturnsServiceUnavailable() throws Exception {
+        // Given
+        when(claimsService.getClaim("test-claim-123")).thenThrow(new BulkheadFullException("dynamodb", 20));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/claims/test-claim-123"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void getClaims_BatchRequest_ReturnsClaimsAndMissingIds() throws Exception {
+        // Given
+        when(claimsService.getClaims(List.of("test-claim-123", "non-existing")))
+                .thenReturn(new BatchGetClaimsResponse(List.of(testClaim), List.of("non-existing")));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchGetClaimsRequest(List.of("test-claim-123", "non-existing")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claims[0].claimId").value("test-claim-123"))
+                .andExpect(jsonPath("$.missing[0]").value("non-existing"));
+    }
+
+    @Test
+    void getClaims_EmptyBatch_ReturnsBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"claimIds\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void summarizeClaim_ValidClaim_ReturnsSummary() throws Exception {
         // Given
@@ -101,13 +315,160 @@ class ClaimsControllerTest {
     }
 
     @Test
-    void generateClaimFiles_ValidClaim_ReturnsSuccess() throws Exception {
+    void summarizeClaim_CircuitOpen_ReturnsServiceUnavailableWithRemainingTime() throws Exception {
+        // Given
+        when(claimsService.summarizeClaim("test-claim-123"))
+                .thenThrow(new CircuitOpenException("claims-summarizer-lambda", Duration.ofSeconds(12)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/test-claim-123/summarize"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "12"));
+    }
+
+    @Test
+    void summarizeClaim_AsyncMode_ReturnsAcceptedWithJob() throws Exception {
+        // Given
+        SummaryJob job = new SummaryJob("job-1", "test-claim-123", SummaryJob.QUEUED, LocalDateTime.now(), null, null, null);
+        when(summaryJobService.submit("test-claim-123")).thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/test-claim-123/summarize").param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/claims/summary-jobs/job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void summarizeClaim_AsyncModeQueueFull_ReturnsServiceUnavailable() throws Exception {
+        // Given
+        when(summaryJobService.submit("test-claim-123")).thenThrow(new RejectedExecutionException("queue full"));
+
         // When & Then
-        mockMvc.perform(post("/api/v1/claims/test-claim-123/generate"))
+        mockMvc.perform(post("/api/v1/claims/test-claim-123/summarize").param("async", "true"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void getSummaryJob_CompletedJob_ReturnsSummary() throws Exception {
+        // Given
+        SummaryJob job = new SummaryJob("job-1", "test-claim-123", SummaryJob.SUCCEEDED, LocalDateTime.now(),
+                LocalDateTime.now(), testSummary, null);
+        when(summaryJobService.awaitJob("job-1", Duration.ofSeconds(10))).thenReturn(CompletableFuture.completedFuture(job));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/claims/summary-jobs/job-1").param("waitSeconds", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.summary.modelUsed").value("test-model"));
+    }
+
+    @Test
+    void streamSummary_ValidClaim_StreamsSectionsThenCompletes() throws Exception {
+        // Given
+        when(summaryJobService.streamSummary(eq("test-claim-123"), any(SummarySectionListener.class))).thenAnswer(invocation -> {
+            SummarySectionListener listener = invocation.getArgument(1);
+            listener.onSection("overall", "Rear-end collision");
+            listener.onSection("recommendation", "APPROVE");
+            return CompletableFuture.completedFuture(testSummary);
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/claims/test-claim-123/summarize/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:section")))
+                .andExpect(content().string(containsString("Rear-end collision")))
+                .andExpect(content().string(containsString("event:complete")));
+    }
+
+    @Test
+    void generateClaimFiles_ValidClaim_ReturnsSuccess() throws Exception {
+        // Given
+        when(claimsService.generateClaimFiles("test-claim-123")).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/claims/test-claim-123/generate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then - the async timeout outlasts the 2m Lambda socket timeout
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofSeconds(150).toMillis());
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Files generation initiated successfully"));
     }
 
+    @Test
+    void generateClaimFiles_LambdaFailure_ReturnsServerError() throws Exception {
+        // Given
+        when(claimsService.generateClaimFiles("test-claim-123"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Lambda generate-files failed")));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/claims/test-claim-123/generate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void submitFileGeneration_Async_ReturnsAcceptedWithStatusLocation() throws Exception {
+        // Given
+        when(fileGenerationService.submit("test-claim-123")).thenReturn(new FileGenerationStatus(
+                "test-claim-123", FileGenerationStatus.QUEUED, LocalDateTime.now(), null, null, null, null));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/test-claim-123/generate").param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/claims/test-claim-123/generate/status"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void submitFileGeneration_QueueFull_ReturnsServiceUnavailable() throws Exception {
+        // Given
+        when(fileGenerationService.submit("test-claim-123")).thenThrow(new RejectedExecutionException("full"));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/test-claim-123/generate").param("async", "true"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    @Test
+    void getFileGenerationStatus_Done_ReturnsFiles() throws Exception {
+        // Given
+        when(fileGenerationService.getStatus("test-claim-123")).thenReturn(CompletableFuture.completedFuture(
+                new FileGenerationStatus("test-claim-123", FileGenerationStatus.DONE, LocalDateTime.now(),
+                        LocalDateTime.now(), LocalDateTime.now(),
+                        List.of("s3://claims-notes-bucket/test-claim-123/adjuster-notes.json"), null)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/claims/test-claim-123/generate/status"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.files[0]").value("s3://claims-notes-bucket/test-claim-123/adjuster-notes.json"));
+    }
+
     @Test
     void createClaim_ValidRequest_ReturnsCreatedClaim() throws Exception {
         // Given
@@ -138,4 +499,53 @@ class ClaimsControllerTest {
                 .andExpect(jsonPath("$.claimId").value("new-claim-123"))
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createClaim_IdempotencyKeyInProgress_ReturnsConflict() throws Exception {
+        // Given
+        CreateClaimRequest request = new CreateClaimRequest("new-claim-123", "new-customer-456", "PENDING",
+                "New test claim", 1500.00);
+        when(claimsService.createClaim(any(CreateClaimRequest.class), eq("key-1")))
+                .thenThrow(new IdempotencyKeyConflictException("in progress", true));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void createClaim_IdempotencyKeyReusedWithOtherBody_ReturnsUnprocessableEntity() throws Exception {
+        // Given
+        CreateClaimRequest request = new CreateClaimRequest("new-claim-123", "new-customer-456", "PENDING",
+                "New test claim", 1500.00);
+        when(claimsService.createClaim(any(CreateClaimRequest.class), eq("key-1")))
+                .thenThrow(new IdempotencyKeyConflictException("different request", false));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createClaims_NdjsonBody_ReturnsPerItemResults() throws Exception {
+        // Given
+        BulkCreateClaimsResponse response = new BulkCreateClaimsResponse(1, 1, 0, List.of(
+                new BulkCreateClaimsResponse.ItemResult(0, "new-claim-123", BulkCreateClaimsResponse.ItemResult.CREATED, null)));
+        when(claimsService.createClaims(any())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/claims/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"claimId\": \"new-claim-123\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.claims.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveBulkheadTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void executeAsync_AtLimit_RejectsUntilASlotIsReleased() {
+        // Given
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("s3", 2, 1, 10, 1.5, meterRegistry);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        bulkhead.executeAsync(() -> first);
+        bulkhead.executeAsync(() -> second);
+
+        // When
+        CompletableFuture<String> rejected = bulkhead.executeAsync(() -> CompletableFuture.completedFuture("third"));
+        first.complete("first");
+        CompletableFuture<String> admitted = bulkhead.executeAsync(() -> CompletableFuture.completedFuture("fourth"));
+
+        // Then
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(BulkheadFullException.class);
+        assertThat(admitted.join()).isEqualTo("fourth");
+        assertThat(meterRegistry.get("claims.bulkhead.rejected").tag("dependency", "s3").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("claims.bulkhead.inflight").tag("dependency", "s3").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onSample_LatencyRisesAboveBaseline_ShrinksLimit() {
+        // Given - a saturated bulkhead with a 10ms baseline
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("summarizer-lambda", 20, 2, 100, 1.5, meterRegistry);
+        for (int i = 0; i < 50; i++) {
+            bulkhead.onSample(20, 10 * MILLIS, false);
+        }
+        int steadyLimit = bulkhead.getLimit();
+
+        // When - the dependency slows down tenfold
+        for (int i = 0; i < 20; i++) {
+            bulkhead.onSample(steadyLimit, 100 * MILLIS, false);
+        }
+
+        // Then
+        assertThat(steadyLimit).isGreaterThan(20);
+        assertThat(bulkhead.getLimit()).isLessThan(steadyLimit / 2);
+        assertThat(bulkhead.getLimit()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void onSample_LightLoad_KeepsLimit() {
+        // Given
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("dynamodb", 20, 2, 100, 1.5, meterRegistry);
+
+        // When - fast calls that never use half of the limit
+        for (int i = 0; i < 50; i++) {
+            bulkhead.onSample(3, 5 * MILLIS, false);
+        }
+
+        // Then
+        assertThat(bulkhead.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void execute_Throttled_BacksOffAndRethrows() {
+        // Given
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("summarizer-lambda", 20, 2, 100, 1.5, meterRegistry);
+
+        // When / Then
+        assertThatThrownBy(() -> bulkhead.execute(() -> {
+            throw TooManyRequestsException.builder().statusCode(429).message("Rate exceeded").build();
+        })).isInstanceOf(TooManyRequestsException.class);
+        assertThat(bulkhead.getLimit()).isEqualTo(18);
+        assertThat(bulkhead.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.claims.repository;
+
+import com.example.claims.model.Claim;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvocationType;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncClaimsRepositoryTest {
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    @Mock
+    private LambdaAsyncClient lambdaAsyncClient;
+
+    private AsyncClaimsRepositoryImpl asyncClaimsRepository;
+
+    private Claim testClaim;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    void setUp() {
+        // Notes over 32 bytes go to the disk tier
+        NotesCache notesCache = new NotesCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(1),
+                DataSize.ofMegabytes(1), DataSize.ofBytes(32), cacheDirectory.toString());
+        asyncClaimsRepository = new AsyncClaimsRepositoryImpl(dynamoDbAsyncClient, s3AsyncClient, lambdaAsyncClient,
+                notesCache, "claims-notes-bucket", "claim_generate_files", NotesPayload.Mode.AUTO, DataSize.ofBytes(100), false,
+                Bulkheads.unlimited(), ResiliencePolicy.disabled());
+
+        testClaim = new Claim();
+        testClaim.setClaimId("test-claim-123");
+        testClaim.setCustomerId("test-customer-456");
+        testClaim.setStatus("UNDER_REVIEW");
+        testClaim.setDescription("Test vehicle accident claim");
+        testClaim.setCreatedDate(LocalDateTime.now());
+        testClaim.setUpdatedDate(LocalDateTime.now());
+    }
+
+    @Test
+    void findById_ExistingItem_MapsClaim() {
+        // Given
+        String now = LocalDateTime.now().toString();
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                GetItemResponse.builder().item(Map.of(
+                        "claimId", AttributeValue.builder().s("test-claim-123").build(),
+                        "customerId", AttributeValue.builder().s("test-customer-456").build(),
+                        "status", AttributeValue.builder().s("UNDER_REVIEW").build(),
+                        "description", AttributeValue.builder().s("Test vehicle accident claim").build(),
+                        "createdDate", AttributeValue.builder().s(now).build(),
+                        "updatedDate", AttributeValue.builder().s(now).build(),
+                        "amount", AttributeValue.builder().n("100.0").build())).build()));
+
+        // When
+        Claim claim = asyncClaimsRepository.findById("test-claim-123").join();
+
+        // Then
+        assertThat(claim.getClaimId()).isEqualTo("test-claim-123");
+        assertThat(claim.getStatus()).isEqualTo("UNDER_REVIEW");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getClaimNotes_MissingObject_FallsBackToDefaultNotes() {
+        // Given
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchKeyException.builder().message("missing").build()));
+
+        // When
+        String notes = asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+
+        // Then
+        assertThat(notes).isEqualTo(AsyncClaimsRepositoryImpl.NO_NOTES);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getClaimNotes_NotModified_RevalidatesWithETagAndServesCachedCopy() {
+        // Given
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .thenReturn(CompletableFuture.completedFuture(notesObject("\"v1\"", "Adjuster notes")))
+                .thenReturn(CompletableFuture.failedFuture(notModified()));
+
+        // When
+        String first = asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+        String second = asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+
+        // Then
+        assertThat(first).isEqualTo("Adjuster notes");
+        assertThat(second).isEqualTo("Adjuster notes");
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3AsyncClient, times(2)).getObject(requests.capture(), any(AsyncResponseTransformer.class));
+        assertThat(requests.getAllValues().get(0).ifNoneMatch()).isNull();
+        assertThat(requests.getAllValues().get(1).ifNoneMatch()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getClaimNotes_LargeNotesChanged_SpillsToDiskAndReplacesCopy() throws Exception {
+        // Given
+        String largeNotes = "Adjuster visited the site and photographed the damage. ".repeat(10);
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .thenReturn(CompletableFuture.completedFuture(notesObject("\"v1\"", largeNotes)))
+                .thenReturn(CompletableFuture.failedFuture(notModified()))
+                .thenReturn(CompletableFuture.completedFuture(notesObject("\"v2\"", "Claim closed")));
+
+        // When
+        String first = asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+        String fromDisk = asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+        String changed = asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+
+        // Then
+        assertThat(first).isEqualTo(largeNotes);
+        assertThat(fromDisk).isEqualTo(largeNotes);
+        assertThat(changed).isEqualTo("Claim closed");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getNotesPayload_NotesOverThreshold_PassesReferenceWithoutReadingBody() {
+        // Given
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                HeadObjectResponse.builder().contentLength(5000L).eTag("\"v1\"").versionId("3").build()));
+
+        // When
+        NotesPayload payload = asyncClaimsRepository.getNotesPayload("test-claim-123").join();
+
+        // Then
+        assertThat(payload.isReference()).isTrue();
+        assertThat(payload.key()).isEqualTo("test-claim-123/notes.txt");
+        assertThat(payload.eTag()).isEqualTo("\"v1\"");
+        assertThat(payload.versionId()).isEqualTo("3");
+        verify(s3AsyncClient, never()).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getNotesPayload_SmallNotesCachedWithSameETag_InlinesWithoutGet() {
+        // Given
+        when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .thenReturn(CompletableFuture.completedFuture(notesObject("\"v1\"", "Adjuster notes")));
+        asyncClaimsRepository.getClaimNotes("test-claim-123").join();
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                HeadObjectResponse.builder().contentLength(14L).eTag("\"v1\"").build()));
+
+        // When
+        NotesPayload payload = asyncClaimsRepository.getNotesPayload("test-claim-123").join();
+
+        // Then
+        assertThat(payload.isReference()).isFalse();
+        assertThat(payload.notes()).isEqualTo("Adjuster notes");
+        verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+    }
+
+    @Test
+    void getNotesPayload_MissingObject_InlinesDefaultNotes() {
+        // Given
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchKeyException.builder().statusCode(404).build()));
+
+        // When
+        NotesPayload payload = asyncClaimsRepository.getNotesPayload("test-claim-123").join();
+
+        // Then
+        assertThat(payload.notes()).isEqualTo(AsyncClaimsRepositoryImpl.NO_NOTES);
+    }
+
+    @Test
+    void generateClaimFiles_ValidClaim_InvokesLambdaWithNotes() {
+        // Given
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                InvokeResponse.builder().statusCode(200).payload(SdkBytes.fromUtf8String("{}")).build()));
+
+        // When
+        asyncClaimsRepository.generateClaimFiles(testClaim, NotesPayload.inline("Adjuster notes")).join();
+
+        // Then
+        ArgumentCaptor<InvokeRequest> request = ArgumentCaptor.forClass(InvokeRequest.class);
+        verify(lambdaAsyncClient).invoke(request.capture());
+        assertThat(request.getValue().functionName()).isEqualTo("claim_generate_files");
+        assertThat(request.getValue().payload().asUtf8String()).contains("\"notes\":\"Adjuster notes\"");
+    }
+
+    @Test
+    void dispatchGenerateClaimFiles_ValidClaim_InvokesLambdaAsEvent() {
+        // Given
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(InvokeResponse.builder().statusCode(202).build()));
+
+        // When
+        asyncClaimsRepository.dispatchGenerateClaimFiles(testClaim, NotesPayload.inline("Adjuster notes"), "gen-1").join();
+
+        // Then
+        ArgumentCaptor<InvokeRequest> request = ArgumentCaptor.forClass(InvokeRequest.class);
+        verify(lambdaAsyncClient).invoke(request.capture());
+        assertThat(request.getValue().invocationType()).isEqualTo(InvocationType.EVENT);
+        assertThat(request.getValue().payload().asUtf8String()).contains("\"generationId\":\"gen-1\"");
+    }
+
+    @Test
+    void findGeneratedFiles_OneFileMissingOrFromOtherGeneration_ReturnsEmptyUntilBothMatch() {
+        // Given - Last-Modified is ignored, so a file stamped before the dispatch still counts
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(generatedFile("gen-2", "2026-01-01T09:00:00Z"))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchKeyException.builder().statusCode(404).build()))
+                .thenReturn(generatedFile("gen-2", "2026-01-01T09:00:00Z"))
+                .thenReturn(generatedFile("gen-1", "2026-01-01T11:00:00Z"))
+                .thenReturn(generatedFile("gen-2", "2026-01-01T09:00:00Z"))
+                .thenReturn(generatedFile("gen-2", "2026-01-01T09:00:00Z"));
+
+        // When
+        List<String> partial = asyncClaimsRepository.findGeneratedFiles("test-claim-123", "gen-2").join();
+        List<String> stale = asyncClaimsRepository.findGeneratedFiles("test-claim-123", "gen-2").join();
+        List<String> complete = asyncClaimsRepository.findGeneratedFiles("test-claim-123", "gen-2").join();
+
+        // Then - a newer file from another generation does not count
+        assertThat(partial).isEmpty();
+        assertThat(stale).isEmpty();
+        assertThat(complete).containsExactly("s3://claims-notes-bucket/test-claim-123/adjuster-notes.json",
+                "s3://claims-notes-bucket/test-claim-123/customer-correspondence.json");
+    }
+
+    @Test
+    void generateClaimFiles_FunctionError_CompletesExceptionally() {
+        // Given
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                InvokeResponse.builder().statusCode(200).functionError("Unhandled")
+                        .payload(SdkBytes.fromUtf8String("{\"errorMessage\": \"boom\"}")).build()));
+
+        // When
+        CompletableFuture<Void> result = asyncClaimsRepository.generateClaimFiles(testClaim, NotesPayload.inline("Adjuster notes"));
+
+        // Then
+        assertThat(result).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(LambdaFunctionException.class)
+                .withMessageContaining("failed: Unhandled");
+    }
+
+    private static CompletableFuture<HeadObjectResponse> generatedFile(String generationId, String lastModified) {
+        return CompletableFuture.completedFuture(HeadObjectResponse.builder()
+                .metadata(Map.of(AsyncClaimsRepositoryImpl.GENERATION_ID_METADATA, generationId))
+                .lastModified(Instant.parse(lastModified))
+                .build());
+    }
+
+    private static ResponseBytes<GetObjectResponse> notesObject(String eTag, String notes) {
+        return ResponseBytes.fromByteArray(GetObjectResponse.builder().eTag(eTag).build(),
+                notes.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static S3Exception notModified() {
+        return (S3Exception) S3Exception.builder().statusCode(304).message("Not Modified").build();
+    }
+}
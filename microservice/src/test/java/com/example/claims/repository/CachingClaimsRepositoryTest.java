@@ -0,0 +1,308 @@
+package com.example.claims.repository;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+import com.example.claims.model.CreateClaimRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingClaimsRepositoryTest {
+
+    private static final String NOTES_ETAG = "\"9b2cf535f27731c974343645a3985328\"";
+
+    @Mock
+    private ClaimsRepositoryImpl delegate;
+
+    @Mock
+    private AsyncClaimsRepository asyncClaimsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingClaimsRepository cachingRepository;
+    private Claim testClaim;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SummaryCache summaryCache = new SummaryCache(meterRegistry, DataSize.ofMegabytes(1), Duration.ofHours(1));
+        cachingRepository = new CachingClaimsRepository(delegate, summaryCache, asyncClaimsRepository, meterRegistry, 100,
+                Duration.ofMinutes(5), Duration.ofSeconds(15));
+
+        testClaim = new Claim();
+        testClaim.setClaimId("test-claim-123");
+        testClaim.setCustomerId("test-customer-456");
+        testClaim.setStatus("UNDER_REVIEW");
+        testClaim.setDescription("Test vehicle accident claim");
+        testClaim.setCreatedDate(LocalDateTime.now());
+        testClaim.setUpdatedDate(LocalDateTime.now());
+    }
+
+    @Test
+    void findById_RepeatedLookup_ServedFromCache() {
+        // Given
+        when(delegate.findById("test-claim-123")).thenReturn(testClaim);
+
+        // When
+        Claim first = cachingRepository.findById("test-claim-123");
+        Claim second = cachingRepository.findById("test-claim-123");
+
+        // Then
+        assertThat(first).isSameAs(testClaim);
+        assertThat(second).isSameAs(testClaim);
+        verify(delegate, times(1)).findById("test-claim-123");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "claims").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findById_MissingClaim_CachesNegativeLookup() {
+        // Given
+        when(delegate.findById("non-existing")).thenReturn(null);
+
+        // When
+        Claim first = cachingRepository.findById("non-existing");
+        Claim second = cachingRepository.findById("non-existing");
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        verify(delegate, times(1)).findById("non-existing");
+    }
+
+    @Test
+    void findById_ConcurrentMisses_ReadOnceOnCallerThread() throws Exception {
+        // Given - the first read blocks until the second caller is waiting for it
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> loader = new AtomicReference<>();
+        when(delegate.findById("test-claim-123")).thenAnswer(invocation -> {
+            loader.set(Thread.currentThread());
+            loading.countDown();
+            release.await();
+            return testClaim;
+        });
+
+        // When
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Claim> first = callers.submit(() -> cachingRepository.findById("test-claim-123"));
+            loading.await();
+            Future<Claim> second = callers.submit(() -> cachingRepository.findById("test-claim-123"));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            assertThat(first.get()).isSameAs(testClaim);
+            assertThat(second.get()).isSameAs(testClaim);
+        }
+        verify(delegate, times(1)).findById("test-claim-123");
+        assertThat(loader.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    void findById_ReadFails_NextLookupReadsAgain() {
+        // Given
+        when(delegate.findById("test-claim-123"))
+                .thenThrow(new IllegalStateException("DynamoDB unavailable"))
+                .thenReturn(testClaim);
+
+        // When & Then
+        assertThatThrownBy(() -> cachingRepository.findById("test-claim-123"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(cachingRepository.findById("test-claim-123")).isSameAs(testClaim);
+    }
+
+    @Test
+    void findByIdStrong_CachedClaim_ReadsThroughAndRefreshesCache() {
+        // Given
+        Claim updated = new Claim();
+        updated.setClaimId("test-claim-123");
+        updated.setStatus("APPROVED");
+        when(delegate.findById("test-claim-123")).thenReturn(testClaim);
+        when(delegate.findById("test-claim-123", ReadConsistency.STRONG)).thenReturn(updated);
+        cachingRepository.findById("test-claim-123");
+
+        // When
+        Claim strong = cachingRepository.findById("test-claim-123", ReadConsistency.STRONG);
+
+        // Then
+        assertThat(strong).isSameAs(updated);
+        assertThat(cachingRepository.findById("test-claim-123")).isSameAs(updated);
+        verify(delegate, times(1)).findById("test-claim-123");
+    }
+
+    @Test
+    void findByIdWithFields_NotCached_DoesNotStorePartialClaim() {
+        // Given
+        Claim partial = new Claim();
+        partial.setClaimId("test-claim-123");
+        partial.setStatus("UNDER_REVIEW");
+        when(delegate.findById("test-claim-123", Set.of("status"))).thenReturn(partial);
+        when(delegate.findById("test-claim-123")).thenReturn(testClaim);
+
+        // When
+        Claim projected = cachingRepository.findById("test-claim-123", Set.of("status"));
+        Claim full = cachingRepository.findById("test-claim-123");
+
+        // Then
+        assertThat(projected).isSameAs(partial);
+        assertThat(full).isSameAs(testClaim);
+        verify(delegate).findById("test-claim-123");
+    }
+
+    @Test
+    void findByIdWithFields_FullClaimCached_ServedFromCache() {
+        // Given
+        when(delegate.findById("test-claim-123")).thenReturn(testClaim);
+        cachingRepository.findById("test-claim-123");
+
+        // When
+        Claim projected = cachingRepository.findById("test-claim-123", Set.of("status"));
+
+        // Then
+        assertThat(projected).isSameAs(testClaim);
+        verify(delegate, never()).findById("test-claim-123", Set.of("status"));
+    }
+
+    @Test
+    void save_InvalidatesCachedLookup() {
+        // Given
+        when(delegate.findById("test-claim-123")).thenReturn(null, testClaim);
+        CreateClaimRequest request = new CreateClaimRequest("test-claim-123", "test-customer-456",
+                "PENDING", "Test vehicle accident claim", 1500.00);
+        assertThat(cachingRepository.findById("test-claim-123")).isNull();
+
+        // When
+        cachingRepository.save(request);
+
+        // Then
+        assertThat(cachingRepository.findById("test-claim-123")).isSameAs(testClaim);
+        verify(delegate, times(2)).findById("test-claim-123");
+    }
+
+    @Test
+    void generateSummary_UnchangedClaim_ReusesSummary() {
+        // Given
+        when(asyncClaimsRepository.getNotesETag("test-claim-123")).thenReturn(CompletableFuture.completedFuture(NOTES_ETAG));
+        ClaimSummary summary = summaryFor("test-claim-123", "Overall summary");
+        when(delegate.generateSummary(testClaim)).thenReturn(summary);
+
+        // When
+        ClaimSummary first = cachingRepository.generateSummary(testClaim);
+        ClaimSummary second = cachingRepository.generateSummary(copyOf(testClaim));
+
+        // Then
+        assertThat(first).isSameAs(summary);
+        assertThat(second).isSameAs(summary);
+        verify(delegate, times(1)).generateSummary(testClaim);
+    }
+
+    @Test
+    void generateSummary_ChangedStatus_InvokesSummarizerAgain() {
+        // Given
+        Claim approved = copyOf(testClaim);
+        approved.setStatus("APPROVED");
+        when(asyncClaimsRepository.getNotesETag("test-claim-123")).thenReturn(CompletableFuture.completedFuture(NOTES_ETAG));
+        when(delegate.generateSummary(testClaim)).thenReturn(summaryFor("test-claim-123", "Under review"));
+        when(delegate.generateSummary(approved)).thenReturn(summaryFor("test-claim-123", "Approved"));
+
+        // When
+        cachingRepository.generateSummary(testClaim);
+        ClaimSummary result = cachingRepository.generateSummary(approved);
+
+        // Then
+        assertThat(result.getSummaries().getOverall()).isEqualTo("Approved");
+        verify(delegate, times(1)).generateSummary(approved);
+    }
+
+    @Test
+    void generateSummary_FailedSummary_IsNotCached() {
+        // Given
+        when(asyncClaimsRepository.getNotesETag("test-claim-123")).thenReturn(CompletableFuture.completedFuture(NOTES_ETAG));
+        when(delegate.generateSummary(testClaim)).thenReturn(summaryFor("test-claim-123", ClaimsRepositoryImpl.SUMMARY_FAILED));
+
+        // When
+        cachingRepository.generateSummary(testClaim);
+        cachingRepository.generateSummary(testClaim);
+
+        // Then
+        verify(delegate, times(2)).generateSummary(testClaim);
+    }
+
+    @Test
+    void generateSummary_NotesObjectChanged_InvokesSummarizerAgain() {
+        // Given - the summarizer reads notes.txt from S3, which changed between the calls
+        when(asyncClaimsRepository.getNotesETag("test-claim-123"))
+                .thenReturn(CompletableFuture.completedFuture(NOTES_ETAG))
+                .thenReturn(CompletableFuture.completedFuture("\"f00d\""));
+        when(delegate.generateSummary(testClaim))
+                .thenReturn(summaryFor("test-claim-123", "Before"))
+                .thenReturn(summaryFor("test-claim-123", "After"));
+
+        // When
+        cachingRepository.generateSummary(testClaim);
+        ClaimSummary result = cachingRepository.generateSummary(testClaim);
+
+        // Then
+        assertThat(result.getSummaries().getOverall()).isEqualTo("After");
+        verify(delegate, times(2)).generateSummary(testClaim);
+    }
+
+    @Test
+    void generateSummary_NotesCheckFails_BypassesCache() {
+        // Given
+        when(asyncClaimsRepository.getNotesETag("test-claim-123"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("S3 unavailable")));
+        when(delegate.generateSummary(testClaim)).thenReturn(summaryFor("test-claim-123", "Overall summary"));
+
+        // When
+        cachingRepository.generateSummary(testClaim);
+        cachingRepository.generateSummary(testClaim);
+
+        // Then
+        verify(delegate, times(2)).generateSummary(testClaim);
+    }
+
+    @Test
+    void summaryKey_DependsOnNotes() {
+        // Given
+        Claim withNotes = copyOf(testClaim);
+        withNotes.setNotes(List.of("Adjuster visited the site"));
+
+        // When & Then
+        assertThat(SummaryCache.keyFor(withNotes, NOTES_ETAG)).isNotEqualTo(SummaryCache.keyFor(testClaim, NOTES_ETAG));
+        assertThat(SummaryCache.keyFor(copyOf(withNotes), NOTES_ETAG)).isEqualTo(SummaryCache.keyFor(withNotes, NOTES_ETAG));
+        assertThat(SummaryCache.keyFor(withNotes, null)).isNotEqualTo(SummaryCache.keyFor(withNotes, NOTES_ETAG));
+    }
+
+    private static ClaimSummary summaryFor(String claimId, String overall) {
+        return new ClaimSummary(claimId, new ClaimSummary.Summaries(overall, "customer", "adjuster", "APPROVE"),
+                LocalDateTime.now(), "test-model");
+    }
+
+    private static Claim copyOf(Claim claim) {
+        return new Claim(claim.getClaimId(), claim.getCustomerId(), claim.getStatus(), claim.getDescription(),
+                claim.getCreatedDate(), claim.getUpdatedDate(), claim.getNotes(), claim.getAmount());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.claims.repository;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.CreateClaimRequest;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClaimItemMapperTest {
+
+    @Test
+    void toItem_ThenToClaim_RoundTripsAllFields() {
+        // Given
+        CreateClaimRequest request = new CreateClaimRequest();
+        request.setClaimId("test-claim-123");
+        request.setCustomerId("test-customer-456");
+        request.setStatus("UNDER_REVIEW");
+        request.setDescription("Test vehicle accident claim");
+        request.setAmount(1500.25);
+        LocalDateTime now = LocalDateTime.of(2025, 12, 1, 9, 5, 7, 120_000_000);
+
+        // When
+        Map<String, AttributeValue> item = ClaimItemMapper.toItem(request, now);
+        Claim claim = ClaimItemMapper.toClaim(item);
+
+        // Then
+        assertThat(item.get("createdDate").s()).isEqualTo("2025-12-01T09:05:07.12");
+        assertThat(claim.getClaimId()).isEqualTo("test-claim-123");
+        assertThat(claim.getCustomerId()).isEqualTo("test-customer-456");
+        assertThat(claim.getAmount()).isEqualTo(1500.25);
+        assertThat(claim.getCreatedDate()).isEqualTo(now);
+        assertThat(claim.getUpdatedDate()).isEqualTo(now);
+        assertThat(claim.getNotes()).isEmpty();
+    }
+
+    @Test
+    void toClaim_ItemWithNotes_CopiesNotesInOrder() {
+        // Given
+        Map<String, AttributeValue> item = Map.of(
+                "claimId", AttributeValue.fromS("test-claim-123"),
+                "customerId", AttributeValue.fromS("test-customer-456"),
+                "status", AttributeValue.fromS("APPROVED"),
+                "description", AttributeValue.fromS("Test vehicle accident claim"),
+                "createdDate", AttributeValue.fromS("2025-12-01T09:05"),
+                "updatedDate", AttributeValue.fromS("2025-12-02T10:00:00"),
+                "notes", AttributeValue.fromL(List.of(AttributeValue.fromS("first"), AttributeValue.fromS("second"))),
+                "amount", AttributeValue.fromN("100"));
+
+        // When
+        Claim claim = ClaimItemMapper.toClaim(item);
+
+        // Then - "09:05" has no seconds and goes through the formatter fallback
+        assertThat(claim.getNotes()).containsExactly("first", "second");
+        assertThat(claim.getCreatedDate()).isEqualTo(LocalDateTime.of(2025, 12, 1, 9, 5));
+        assertThat(claim.getUpdatedDate()).isEqualTo(LocalDateTime.of(2025, 12, 2, 10, 0));
+    }
+
+    @Test
+    void formatTimestamp_VariousPrecisions_MatchesIsoFormatter() {
+        // Given
+        List<LocalDateTime> values = List.of(
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 0),
+                LocalDateTime.of(999, 12, 31, 23, 59, 59, 1),
+                LocalDateTime.of(2025, 6, 30, 0, 0, 0, 100_000_000),
+                LocalDateTime.of(2025, 6, 30, 12, 30, 15, 123_456_000),
+                LocalDateTime.of(2025, 6, 30, 12, 30, 15, 987_654_321),
+                LocalDateTime.of(12025, 6, 30, 12, 30, 15));
+
+        for (LocalDateTime value : values) {
+            // When
+            String formatted = ClaimItemMapper.formatTimestamp(value);
+
+            // Then
+            assertThat(formatted).isEqualTo(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            assertThat(ClaimItemMapper.parseTimestamp(formatted)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void parseTimestamp_InvalidValues_ThrowsLikeIsoFormatter() {
+        assertThatThrownBy(() -> ClaimItemMapper.parseTimestamp("2025-13-01T00:00:00"))
+                .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> ClaimItemMapper.parseTimestamp("2025-1x-01T00:00:00"))
+                .isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> ClaimItemMapper.parseTimestamp("2025-12-01T00:00:00.1234567891"))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.claims.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HedgedItemReaderTest {
+
+    private static final GetItemRequest REQUEST = GetItemRequest.builder()
+            .tableName("claims")
+            .key(Map.of("claimId", AttributeValue.fromS("test-claim-123")))
+            .build();
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getItem_SlowPrimary_HedgeWinsAndPrimaryIsCancelled() throws InterruptedException {
+        // Given
+        CompletableFuture<GetItemResponse> slowPrimary = new CompletableFuture<>();
+        GetItemResponse hedgeResponse = GetItemResponse.builder()
+                .item(Map.of("claimId", AttributeValue.fromS("test-claim-123"))).build();
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(slowPrimary, CompletableFuture.completedFuture(hedgeResponse));
+        HedgedItemReader reader = newReader(5);
+
+        // When
+        GetItemResponse response = reader.getItem(REQUEST);
+
+        // Then
+        assertThat(response).isSameAs(hedgeResponse);
+        // The loser is cancelled and the win counted right after the result completes
+        assertThat(slowPrimary).failsWithin(Duration.ofSeconds(1));
+        awaitCount("won", 1.0);
+    }
+
+    @Test
+    void getItem_FastPrimary_SendsNoHedge() {
+        // Given
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetItemResponse.builder().build()));
+        HedgedItemReader reader = newReader(5);
+
+        // When
+        reader.getItem(REQUEST);
+
+        // Then
+        verify(dynamoDbAsyncClient, after(100).times(1)).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void getItemAsync_BudgetExhausted_StopsHedging() {
+        // Given - a zero refill leaves only the initial burst for hedges
+        when(dynamoDbAsyncClient.getItem(any(GetItemRequest.class))).thenAnswer(invocation -> new CompletableFuture<>());
+        HedgedItemReader reader = newReader(0);
+
+        // When
+        for (int i = 0; i < 15; i++) {
+            reader.getItemAsync(REQUEST);
+        }
+
+        // Then - 15 primaries plus 10 hedges from the burst
+        verify(dynamoDbAsyncClient, timeout(1000).times(25)).getItem(any(GetItemRequest.class));
+        verify(dynamoDbAsyncClient, after(100).times(25)).getItem(any(GetItemRequest.class));
+        assertThat(meterRegistry.get("claims.dynamodb.hedge").tag("result", "over-budget").counter().count())
+                .isEqualTo(5.0);
+    }
+
+    @Test
+    void hedgeBudget_FivePercent_AllowsOneHedgePerTwentyReads() {
+        // Given
+        TokenBudget budget = new TokenBudget(0.05, 1);
+        budget.tryWithdraw();
+
+        // When
+        for (int i = 0; i < 19; i++) {
+            budget.deposit();
+        }
+        boolean beforeTwentieth = budget.tryWithdraw();
+        budget.deposit();
+
+        // Then
+        assertThat(beforeTwentieth).isFalse();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (meterRegistry.get("claims.dynamodb.hedge").tag("result", result).counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meterRegistry.get("claims.dynamodb.hedge").tag("result", result).counter().count()).isEqualTo(expected);
+    }
+
+    private HedgedItemReader newReader(double budgetPercent) {
+        return new HedgedItemReader(dynamoDbAsyncClient, meterRegistry, true, Duration.ofMillis(10), budgetPercent);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.claims.repository;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.CreateClaimRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-01T12:00:00Z");
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    private IdempotencyStore store;
+    private CreateClaimRequest request;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        ResiliencePolicy resilience = new ResiliencePolicy(new SimpleMeterRegistry(), true, 3, Duration.ZERO,
+                Duration.ZERO, 10, 50, 20, 10, Duration.ofSeconds(30), 3, clock);
+        store = new IdempotencyStore(dynamoDbClient, resilience, new SimpleMeterRegistry(), "claims-idempotency",
+                Duration.ofHours(24), Duration.ofSeconds(30), 100, clock);
+        request = new CreateClaimRequest("new-claim-123", "new-customer-456", "PENDING", "New test claim", 1500.00);
+    }
+
+    @Test
+    void begin_NewKey_ReservesKeyWithConditionalPut() {
+        // When
+        Claim original = store.begin("key-1", request);
+
+        // Then
+        assertThat(original).isNull();
+        ArgumentCaptor<PutItemRequest> put = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDbClient).putItem(put.capture());
+        assertThat(put.getValue().conditionExpression()).isEqualTo("attribute_not_exists(idempotencyKey) OR expiresAt < :now");
+        assertThat(put.getValue().item().get("state").s()).isEqualTo("IN_PROGRESS");
+        assertThat(put.getValue().item().get("expiresAt").n()).isEqualTo(Long.toString(NOW.getEpochSecond() + 30));
+    }
+
+    @Test
+    void begin_AfterComplete_ReplaysFromMemoryWithoutDynamoDb() {
+        // Given
+        LocalDateTime createdDate = LocalDateTime.of(2025, 12, 1, 12, 0, 0, 500_000_000);
+        store.begin("key-1", request);
+        store.complete("key-1", request, ClaimItemMapper.toClaim(request, createdDate));
+
+        // When
+        Claim replayed = store.begin("key-1", request);
+
+        // Then
+        assertThat(replayed.getClaimId()).isEqualTo("new-claim-123");
+        assertThat(replayed.getCreatedDate()).isEqualTo(createdDate);
+        verify(dynamoDbClient, times(2)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void complete_Throttled_RetriesAndRecordsCompletion() {
+        // Given - the shared client has no SDK retries, so the store must retry itself
+        when(dynamoDbClient.putItem(any(PutItemRequest.class)))
+                .thenThrow(ProvisionedThroughputExceededException.builder().statusCode(400)
+                        .awsErrorDetails(AwsErrorDetails.builder().errorCode("ProvisionedThroughputExceededException").build())
+                        .build())
+                .thenReturn(PutItemResponse.builder().build());
+        Claim claim = ClaimItemMapper.toClaim(request, LocalDateTime.of(2025, 12, 1, 12, 0));
+
+        // When
+        store.complete("key-1", request, claim);
+
+        // Then
+        verify(dynamoDbClient, times(2)).putItem(any(PutItemRequest.class));
+        assertThat(store.begin("key-1", request).getCreatedDate()).isEqualTo(claim.getCreatedDate());
+    }
+
+    @Test
+    void replayStored_SameBody_RebuildsOriginalResponse() {
+        // Given
+        LocalDateTime createdDate = LocalDateTime.of(2025, 12, 1, 11, 59);
+        Claim stored = ClaimItemMapper.toClaim(request, createdDate);
+        stored.setNotes(List.of("Adjuster called"));
+        CreateClaimRequest other = new CreateClaimRequest("new-claim-123", "new-customer-456", "PENDING",
+                "New test claim", 9999.00);
+
+        // When & Then
+        Claim replayed = store.replayStored(request, stored);
+        assertThat(replayed.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(replayed.getNotes()).isEmpty();
+        assertThat(store.replayStored(other, stored)).isNull();
+    }
+
+    @Test
+    void begin_CompletedOnOtherReplica_ReplaysStoredCreation() {
+        // Given
+        when(dynamoDbClient.putItem(any(PutItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("exists").build());
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().item(Map.of(
+                "idempotencyKey", AttributeValue.fromS("key-1"),
+                "state", AttributeValue.fromS("COMPLETED"),
+                "fingerprint", AttributeValue.fromS(IdempotencyStore.fingerprint(request)),
+                "createdDate", AttributeValue.fromS("2025-12-01T11:59:00"))).build());
+
+        // When
+        Claim replayed = store.begin("key-1", request);
+
+        // Then
+        assertThat(replayed.getCreatedDate()).isEqualTo(LocalDateTime.of(2025, 12, 1, 11, 59));
+        assertThat(replayed.getDescription()).isEqualTo("New test claim");
+    }
+
+    @Test
+    void begin_KeyReusedForDifferentBody_ThrowsConflict() {
+        // Given
+        store.begin("key-1", request);
+        store.complete("key-1", request, ClaimItemMapper.toClaim(request, LocalDateTime.now()));
+        CreateClaimRequest other = new CreateClaimRequest("new-claim-123", "new-customer-456", "PENDING",
+                "New test claim", 9999.00);
+
+        // When & Then
+        assertThatThrownBy(() -> store.begin("key-1", other))
+                .isInstanceOfSatisfying(IdempotencyKeyConflictException.class,
+                        e -> assertThat(e.isInProgress()).isFalse());
+    }
+
+    @Test
+    void begin_KeyHeldByRunningRequest_ThrowsInProgress() {
+        // Given
+        when(dynamoDbClient.putItem(any(PutItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("exists").build());
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder().item(Map.of(
+                "idempotencyKey", AttributeValue.fromS("key-1"),
+                "state", AttributeValue.fromS("IN_PROGRESS"))).build());
+
+        // When & Then
+        assertThatThrownBy(() -> store.begin("key-1", request))
+                .isInstanceOfSatisfying(IdempotencyKeyConflictException.class,
+                        e -> assertThat(e.isInProgress()).isTrue());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.claims.repository;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LambdaPayloadCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Claim testClaim;
+
+    @BeforeEach
+    void setUp() {
+        testClaim = new Claim();
+        testClaim.setClaimId("test-claim-123");
+        testClaim.setCustomerId("test-customer-456");
+        testClaim.setStatus("UNDER_REVIEW");
+        testClaim.setDescription("Driver said \"the light was green\"\nthen left");
+    }
+
+    @Test
+    void generateFilesRequest_NotesWithQuotesAndNewlines_ProducesValidJson() throws IOException {
+        // Given
+        String notes = "Adjuster: \"check photos\"\n\tWitness: C:\\statements\\1.txt";
+
+        // When
+        SdkBytes payload = LambdaPayloadCodec.generateFilesRequest(testClaim, notes);
+
+        // Then
+        JsonNode json = objectMapper.readTree(payload.asByteArray());
+        assertThat(json.get("notes").asText()).isEqualTo(notes);
+        assertThat(json.get("claimData").get("description").asText()).isEqualTo(testClaim.getDescription());
+        assertThat(json.get("claimData").get("customerId").asText()).isEqualTo("test-customer-456");
+    }
+
+    @Test
+    void generateFilesRequest_Reference_WritesNotesRefInsteadOfNotes() throws IOException {
+        // When
+        SdkBytes payload = LambdaPayloadCodec.generateFilesRequest(testClaim,
+                NotesPayload.reference("claims-notes-bucket", "test-claim-123/notes.txt", "\"v1\"", null, 5000), false);
+
+        // Then
+        JsonNode json = objectMapper.readTree(payload.asByteArray());
+        assertThat(json.has("notes")).isFalse();
+        assertThat(json.get("notesRef").get("bucket").asText()).isEqualTo("claims-notes-bucket");
+        assertThat(json.get("notesRef").get("key").asText()).isEqualTo("test-claim-123/notes.txt");
+        assertThat(json.get("notesRef").get("eTag").asText()).isEqualTo("\"v1\"");
+        assertThat(json.get("notesRef").has("versionId")).isFalse();
+        assertThat(json.get("notesRef").get("size").asLong()).isEqualTo(5000);
+    }
+
+    @Test
+    void generateFilesRequest_VersionedReference_WritesVersionId() throws IOException {
+        // When - the notes bucket is versioned, so HeadObject reports the version the service saw
+        SdkBytes payload = LambdaPayloadCodec.generateFilesRequest(testClaim,
+                NotesPayload.reference("claims-notes-bucket", "test-claim-123/notes.txt", "\"v1\"", "3HL4kqtJvjVBH40Nrjfkd", 70000),
+                false);
+
+        // Then
+        JsonNode notesRef = objectMapper.readTree(payload.asByteArray()).get("notesRef");
+        assertThat(notesRef.get("versionId").asText()).isEqualTo("3HL4kqtJvjVBH40Nrjfkd");
+        assertThat(notesRef.get("eTag").asText()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void generateFilesRequest_CompressInline_WritesGzipBase64Notes() throws IOException {
+        // Given
+        String notes = "Adjuster visited the site. ".repeat(50);
+
+        // When
+        SdkBytes payload = LambdaPayloadCodec.generateFilesRequest(testClaim, NotesPayload.inline(notes), true);
+
+        // Then
+        JsonNode json = objectMapper.readTree(payload.asByteArray());
+        assertThat(json.get("notesEncoding").asText()).isEqualTo("gzip+base64");
+        byte[] compressed = Base64.getDecoder().decode(json.get("notes").asText());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(notes);
+        }
+        assertThat(payload.asByteArray().length).isLessThan(notes.length());
+    }
+
+    @Test
+    void summaryRequest_ValidClaim_ContainsClaimDetailsOnly() throws IOException {
+        // When
+        JsonNode json = objectMapper.readTree(LambdaPayloadCodec.summaryRequest(testClaim).asByteArray());
+
+        // Then
+        assertThat(json.get("claimId").asText()).isEqualTo("test-claim-123");
+        assertThat(json.get("description").asText()).isEqualTo(testClaim.getDescription());
+        assertThat(json.has("notes")).isFalse();
+    }
+
+    @Test
+    void readSummaries_ValuesWithBracesAndQuotes_ReturnsFullText() throws IOException {
+        // Given - values the old indexOf parser truncated at the first '}' or '"'
+        String response = "{\"claimId\": \"test-claim-123\", \"usage\": {\"tokens\": 412}, \"summaries\": {"
+                + "\"overall\": \"Damage {front} and \\\"rear\\\"\", \"customer\": \"Line one\\nLine two\", "
+                + "\"adjuster\": \"Verify estimate\", \"recommendation\": \"APPROVE\"}, \"modelUsed\": \"test-model\"}";
+
+        // When
+        ClaimSummary.Summaries summaries = LambdaPayloadCodec.readSummaries(SdkBytes.fromUtf8String(response));
+
+        // Then
+        assertThat(summaries.getOverall()).isEqualTo("Damage {front} and \"rear\"");
+        assertThat(summaries.getCustomer()).isEqualTo("Line one\nLine two");
+        assertThat(summaries.getAdjuster()).isEqualTo("Verify estimate");
+        assertThat(summaries.getRecommendation()).isEqualTo("APPROVE");
+    }
+
+    @Test
+    void readSummaries_MissingSections_ReturnsNotAvailable() throws IOException {
+        // When
+        ClaimSummary.Summaries summaries = LambdaPayloadCodec.readSummaries(
+                SdkBytes.fromUtf8String("{\"summaries\": {\"overall\": \"Only overall\"}}"));
+
+        // Then
+        assertThat(summaries.getOverall()).isEqualTo("Only overall");
+        assertThat(summaries.getRecommendation()).isEqualTo(LambdaPayloadCodec.NOT_AVAILABLE);
+    }
+
+    @Test
+    void readSummaries_MalformedPayload_ThrowsIOException() {
+        assertThatThrownBy(() -> LambdaPayloadCodec.readSummaries(SdkBytes.fromUtf8String("{\"summaries\": {\"overall\": ")))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void summaryBatchRequest_WritesEachClaim() throws IOException {
+        // Given
+        Claim other = new Claim();
+        other.setClaimId("test-claim-456");
+        other.setCustomerId("test-customer-789");
+        other.setStatus("APPROVED");
+        other.setDescription("Hail damage");
+
+        // When
+        SdkBytes payload = LambdaPayloadCodec.summaryBatchRequest(List.of(testClaim, other));
+
+        // Then
+        JsonNode claims = objectMapper.readTree(payload.asByteArray()).get("claims");
+        assertThat(claims).hasSize(2);
+        assertThat(claims.get(0).get("description").asText()).isEqualTo(testClaim.getDescription());
+        assertThat(claims.get(1).get("claimId").asText()).isEqualTo("test-claim-456");
+    }
+
+    @Test
+    void readBatchSummaries_SkipsFailedResults() throws IOException {
+        // Given
+        String response = "{\"results\": ["
+                + "{\"claimId\": \"claim-1\", \"summaries\": {\"overall\": \"First\"}, \"modelUsed\": \"test-model\"},"
+                + "{\"claimId\": \"claim-2\", \"error\": \"Claim not found\"},"
+                + "{\"claimId\": \"claim-3\", \"summaries\": {\"overall\": \"Third\", \"recommendation\": \"DENY\"}}]}";
+
+        // When
+        Map<String, ClaimSummary.Summaries> results = LambdaPayloadCodec.readBatchSummaries(SdkBytes.fromUtf8String(response));
+
+        // Then
+        assertThat(results).containsOnlyKeys("claim-1", "claim-3");
+        assertThat(results.get("claim-1").getRecommendation()).isEqualTo(LambdaPayloadCodec.NOT_AVAILABLE);
+        assertThat(results.get("claim-3").getRecommendation()).isEqualTo("DENY");
+    }
+}
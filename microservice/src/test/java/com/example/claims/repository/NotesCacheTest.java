@@ -0,0 +1,85 @@
+package com.example.claims.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotesCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private NotesCache notesCache;
+
+    @BeforeEach
+    void setUp() {
+        notesCache = new NotesCache(new SimpleMeterRegistry(), DataSize.ofKilobytes(1), DataSize.ofKilobytes(1),
+                DataSize.ofBytes(16), directory.toString());
+    }
+
+    @Test
+    void put_LargeNotes_AreMappedFromDiskAndFileRemovedOnReplace() throws Exception {
+        // Given
+        String large = "x".repeat(100);
+        notesCache.put("claim-1", "\"v1\"", large.getBytes(StandardCharsets.UTF_8));
+        NotesCache.CachedNotes spilled = notesCache.get("claim-1");
+
+        // When
+        notesCache.put("claim-1", "\"v2\"", "small".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(spilled.file()).isNotNull();
+        assertThat(spilled.content()).isNull();
+        assertThat(notesCache.get("claim-1").eTag()).isEqualTo("\"v2\"");
+        assertThat(notesCache.get("claim-1").read()).isEqualTo("small");
+        awaitNoFiles();
+        assertThatThrownBy(spilled::read).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void put_MissingETag_DoesNotCache() {
+        // When
+        notesCache.put("claim-1", null, "notes".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(notesCache.get("claim-1")).isNull();
+    }
+
+    @Test
+    void constructor_StaleFilesFromPreviousRun_AreDeleted() throws Exception {
+        // Given
+        Files.writeString(directory.resolve("1-abc.notes"), "stale");
+
+        // When
+        new NotesCache(new SimpleMeterRegistry(), DataSize.ofKilobytes(1), DataSize.ofKilobytes(1),
+                DataSize.ofBytes(16), directory.toString());
+
+        // Then
+        assertThat(directory.resolve("1-abc.notes")).doesNotExist();
+    }
+
+    // Removal listeners run asynchronously
+    private void awaitNoFiles() throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            try (Stream<Path> files = Files.list(directory)) {
+                if (files.findAny().isEmpty()) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Spilled notes file was not deleted");
+    }
+}
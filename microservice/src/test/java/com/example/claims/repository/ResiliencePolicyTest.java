@@ -0,0 +1,176 @@
+package com.example.claims.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResiliencePolicyTest {
+
+    private static final String TARGET = "claims-summarizer-lambda";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2024-01-15T10:00:00Z"));
+    }
+
+    @Test
+    void execute_ThrottledThenSucceeds_RetriesAndReturnsResult() {
+        // Given
+        ResiliencePolicy policy = newPolicy(10, 50);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = policy.execute(TARGET, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw throttled();
+            }
+            return "summary";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("summary");
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("claims.retry.attempts").tag("target", TARGET).counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_NonRetryableError_FailsOnceAndKeepsCircuitClosed() {
+        // Given
+        ResiliencePolicy policy = newPolicy(10, 50);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            assertThatThrownBy(() -> policy.execute("dynamodb", () -> {
+                attempts.incrementAndGet();
+                throw ConditionalCheckFailedException.builder().statusCode(400).message("The conditional request failed").build();
+            })).isInstanceOf(ConditionalCheckFailedException.class);
+        }
+
+        // Then - the table answered, so the failures say nothing about its health
+        assertThat(attempts).hasValue(20);
+        assertThat(policy.circuitBreaker("dynamodb").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void execute_RetryBudgetExhausted_StopsRetrying() {
+        // Given - no budget earned per call and a breaker that never opens
+        ResiliencePolicy policy = newPolicy(0, 101);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When - the initial burst of 10 retries covers five calls
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> policy.execute(TARGET, () -> {
+                attempts.incrementAndGet();
+                throw throttled();
+            })).isInstanceOf(TooManyRequestsException.class);
+        }
+
+        // Then
+        assertThat(attempts).hasValue(5 * 3 + 1);
+        assertThat(meterRegistry.get("claims.retry.budget-exhausted").tag("target", TARGET).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void executeAsync_ThrottledThenSucceeds_RetriesWithoutBlocking() {
+        // Given
+        ResiliencePolicy policy = newPolicy(10, 50);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> result = policy.executeAsync(TARGET, () -> attempts.incrementAndGet() < 2
+                ? CompletableFuture.failedFuture(throttled())
+                : CompletableFuture.completedFuture("files"));
+
+        // Then
+        assertThat(result.join()).isEqualTo("files");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void execute_FailureRateReached_OpensCircuitUntilTrialCallsSucceed() {
+        // Given
+        ResiliencePolicy policy = newPolicy(10, 50);
+        CircuitBreaker breaker = policy.circuitBreaker(TARGET);
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess();
+        }
+
+        // When - six of the last ten calls fail
+        for (int i = 0; i < 6; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure();
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> policy.execute(TARGET, () -> "summary"))
+                .isInstanceOfSatisfying(CircuitOpenException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+
+        // When - the open period is over and both trial calls succeed
+        clock.advance(Duration.ofSeconds(30));
+        policy.execute(TARGET, () -> "summary");
+        policy.execute(TARGET, () -> "summary");
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("claims.circuit.opened").tag("target", TARGET).counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("claims.circuit.rejected").tag("target", TARGET).counter().count()).isEqualTo(1.0);
+    }
+
+    private ResiliencePolicy newPolicy(double budgetPercent, double failureRatePercent) {
+        return new ResiliencePolicy(meterRegistry, true, 3, Duration.ZERO, Duration.ZERO, budgetPercent,
+                failureRatePercent, 10, 10, Duration.ofSeconds(30), 2, clock);
+    }
+
+    private static TooManyRequestsException throttled() {
+        return (TooManyRequestsException) TooManyRequestsException.builder().statusCode(429).message("Rate exceeded").build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.claims.repository;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.lambda.LambdaAsyncClient;
+import software.amazon.awssdk.services.lambda.model.InvokeRequest;
+import software.amazon.awssdk.services.lambda.model.InvokeResponse;
+import software.amazon.awssdk.services.lambda.model.TooManyRequestsException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryBatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private LambdaAsyncClient lambdaAsyncClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void submit_WindowElapses_SendsOneBatchAndDemultiplexesResults() throws IOException {
+        // Given
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                response("{\"results\": [{\"claimId\": \"claim-2\", \"summaries\": {\"overall\": \"Second\"}},"
+                        + "{\"claimId\": \"claim-1\", \"summaries\": {\"overall\": \"First\"}}]}")));
+        SummaryBatcher batcher = newBatcher(Duration.ofMillis(50), 16);
+
+        // When
+        CompletableFuture<ClaimSummary.Summaries> first = batcher.submit(claim("claim-1"));
+        CompletableFuture<ClaimSummary.Summaries> second = batcher.submit(claim("claim-2"));
+        CompletableFuture<ClaimSummary.Summaries> duplicate = batcher.submit(claim("claim-1"));
+
+        // Then
+        assertThat(first.join().getOverall()).isEqualTo("First");
+        assertThat(second.join().getOverall()).isEqualTo("Second");
+        assertThat(duplicate.join().getOverall()).isEqualTo("First");
+        ArgumentCaptor<InvokeRequest> request = ArgumentCaptor.forClass(InvokeRequest.class);
+        verify(lambdaAsyncClient, after(100).times(1)).invoke(request.capture());
+        JsonNode claims = objectMapper.readTree(request.getValue().payload().asByteArray()).get("claims");
+        assertThat(claims).hasSize(2);
+        assertThat(meterRegistry.get("claims.summary.batch.size").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("claims.summary.batch.flush").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_BatchFull_SendsWithoutWaitingForWindow() {
+        // Given - a window far longer than the test
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                response("{\"results\": [{\"claimId\": \"claim-1\", \"summaries\": {}},"
+                        + "{\"claimId\": \"claim-2\", \"summaries\": {}}]}")));
+        SummaryBatcher batcher = newBatcher(Duration.ofMinutes(1), 2);
+
+        // When
+        CompletableFuture<ClaimSummary.Summaries> first = batcher.submit(claim("claim-1"));
+        CompletableFuture<ClaimSummary.Summaries> second = batcher.submit(claim("claim-2"));
+
+        // Then
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        verify(lambdaAsyncClient, timeout(100).times(1)).invoke(any(InvokeRequest.class));
+    }
+
+    @Test
+    void submit_ClaimMissingFromResponse_FailsOnlyThatCaller() {
+        // Given
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                response("{\"results\": [{\"claimId\": \"claim-1\", \"summaries\": {\"overall\": \"First\"}},"
+                        + "{\"claimId\": \"claim-2\", \"error\": \"Claim not found\"}]}")));
+        SummaryBatcher batcher = newBatcher(Duration.ofMinutes(1), 2);
+
+        // When
+        CompletableFuture<ClaimSummary.Summaries> first = batcher.submit(claim("claim-1"));
+        CompletableFuture<ClaimSummary.Summaries> second = batcher.submit(claim("claim-2"));
+
+        // Then
+        assertThat(first.join().getOverall()).isEqualTo("First");
+        assertThat(second).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void submit_InvocationThrottled_RetriesTheBatchOnceForAllCallers() {
+        // Given
+        when(lambdaAsyncClient.invoke(any(InvokeRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(TooManyRequestsException.builder().statusCode(429).build()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        response("{\"results\": [{\"claimId\": \"claim-1\", \"summaries\": {\"overall\": \"First\"}},"
+                                + "{\"claimId\": \"claim-2\", \"summaries\": {\"overall\": \"Second\"}}]}")));
+        ResiliencePolicy resilience = new ResiliencePolicy(meterRegistry, true, 3, Duration.ZERO, Duration.ZERO, 10,
+                50, 20, 10, Duration.ofSeconds(30), 3, Clock.systemUTC());
+        SummaryBatcher batcher = newBatcher(Duration.ofMinutes(1), 2, resilience);
+
+        // When
+        CompletableFuture<ClaimSummary.Summaries> first = batcher.submit(claim("claim-1"));
+        CompletableFuture<ClaimSummary.Summaries> second = batcher.submit(claim("claim-2"));
+
+        // Then - one retry of the invocation, not one per waiting caller
+        assertThat(first.join().getOverall()).isEqualTo("First");
+        assertThat(second.join().getOverall()).isEqualTo("Second");
+        verify(lambdaAsyncClient, times(2)).invoke(any(InvokeRequest.class));
+        assertThat(meterRegistry.get("claims.retry.attempts").tag("target", "claims-summarizer-lambda").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private SummaryBatcher newBatcher(Duration window, int maxSize) {
+        return newBatcher(window, maxSize, ResiliencePolicy.disabled());
+    }
+
+    private SummaryBatcher newBatcher(Duration window, int maxSize, ResiliencePolicy resilience) {
+        return new SummaryBatcher(lambdaAsyncClient, Bulkheads.unlimited(), resilience, meterRegistry,
+                "claims-summarizer-lambda", true, window, maxSize);
+    }
+
+    private static InvokeResponse response(String payload) {
+        return InvokeResponse.builder().statusCode(200).payload(SdkBytes.fromUtf8String(payload)).build();
+    }
+
+    private static Claim claim(String claimId) {
+        Claim claim = new Claim();
+        claim.setClaimId(claimId);
+        claim.setCustomerId("test-customer-456");
+        claim.setStatus("UNDER_REVIEW");
+        claim.setDescription("Test vehicle accident claim");
+        return claim;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.claims.service;
+
+import com.example.claims.model.BulkCreateClaimsResponse;
+import com.example.claims.model.BulkCreateClaimsResponse.ItemResult;
+import com.example.claims.model.Claim;
+import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.repository.BulkSaveResult;
+import com.example.claims.repository.ClaimsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkClaimIngestorTest {
+
+    @Mock
+    private ClaimsRepository claimsRepository;
+
+    private BulkClaimIngestor ingestor;
+
+    @BeforeEach
+    void setUp() {
+        ingestor = new BulkClaimIngestor(claimsRepository, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), Runnable::run, 2, 10000);
+    }
+
+    @Test
+    void ingest_JsonArray_WritesInBatchesOfTwentyFive() throws Exception {
+        // Given
+        String body = IntStream.range(0, 60)
+                .mapToObj(i -> record("claim-" + i, "PENDING"))
+                .collect(Collectors.joining(",", "[", "]"));
+        when(claimsRepository.saveAll(anyList())).thenAnswer(invocation -> savedAll(invocation.getArgument(0)));
+
+        // When
+        BulkCreateClaimsResponse response = ingestor.ingest(stream(body));
+
+        // Then
+        assertThat(response.getReceived()).isEqualTo(60);
+        assertThat(response.getCreated()).isEqualTo(60);
+        assertThat(response.getResults()).extracting(ItemResult::getIndex).isSorted();
+        verify(claimsRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void ingest_NdjsonWithBadRecords_ReportsPerItemResults() throws Exception {
+        // Given
+        String body = String.join("\n",
+                record("claim-1", "PENDING"),
+                record("claim-2", "NOT_A_STATUS"),
+                "{\"claimId\": \"claim-3\", \"amount\": \"lots\"}",
+                record("claim-1", "APPROVED"),
+                record("claim-4", "APPROVED"));
+        when(claimsRepository.saveAll(anyList())).thenAnswer(invocation -> savedAll(invocation.getArgument(0)));
+
+        // When
+        BulkCreateClaimsResponse response = ingestor.ingest(stream(body));
+
+        // Then
+        assertThat(response.getResults()).extracting(ItemResult::getStatus)
+                .containsExactly(ItemResult.CREATED, ItemResult.INVALID, ItemResult.INVALID, ItemResult.INVALID, ItemResult.CREATED);
+        assertThat(response.getResults().get(3).getError()).isEqualTo("Duplicate claimId in request");
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(3);
+    }
+
+    @Test
+    void ingest_UnprocessedWrite_ReportsFailure() throws Exception {
+        // Given
+        when(claimsRepository.saveAll(anyList())).thenReturn(new BulkSaveResult(Map.of(), Set.of()));
+
+        // When
+        BulkCreateClaimsResponse response = ingestor.ingest(stream(record("claim-1", "PENDING")));
+
+        // Then
+        assertThat(response.getResults()).singleElement()
+                .extracting(ItemResult::getStatus).isEqualTo(ItemResult.FAILED);
+    }
+
+    @Test
+    void ingest_ClaimAlreadyStored_ReportsConflict() throws Exception {
+        // Given
+        String body = String.join("\n", record("claim-1", "PENDING"), record("claim-2", "PENDING"));
+        when(claimsRepository.saveAll(anyList())).thenReturn(new BulkSaveResult(
+                saved(List.of(new CreateClaimRequest("claim-1", "cust-1", "PENDING", "Bulk claim", 100.0))),
+                Set.of("claim-2")));
+
+        // When
+        BulkCreateClaimsResponse response = ingestor.ingest(stream(body));
+
+        // Then
+        assertThat(response.getResults()).extracting(ItemResult::getStatus)
+                .containsExactly(ItemResult.CREATED, ItemResult.CONFLICT);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Claim already exists");
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+    }
+
+    private static String record(String claimId, String status) {
+        return "{\"claimId\": \"" + claimId + "\", \"customerId\": \"cust-1\", \"status\": \"" + status
+                + "\", \"description\": \"Bulk claim\", \"amount\": 100.0}";
+    }
+
+    private static BulkSaveResult savedAll(List<CreateClaimRequest> requests) {
+        return new BulkSaveResult(saved(requests), Set.of());
+    }
+
+    private static Map<String, Claim> saved(List<CreateClaimRequest> requests) {
+        return requests.stream().collect(Collectors.toMap(CreateClaimRequest::getClaimId, request -> {
+            Claim claim = new Claim();
+            claim.setClaimId(request.getClaimId());
+            return claim;
+        }, (first, second) -> first, java.util.HashMap::new));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.claims.service;
+
+import com.example.claims.model.Claim;
+import com.example.claims.model.ClaimExportSummary;
+import com.example.claims.repository.ClaimScanSink;
+import com.example.claims.repository.ClaimsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimExporterTest {
+
+    @Mock
+    private ClaimsRepository claimsRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExecutorService executor;
+
+    private ClaimExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        // A single queued page forces the scanners to wait for the writer
+        exporter = new ClaimExporter(claimsRepository, objectMapper, executor, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void export_ThreeSegments_WritesEveryClaimAsOneLine() throws Exception {
+        // Given - more segments than threads, several pages per segment
+        doAnswer(invocation -> {
+            int segment = invocation.getArgument(0);
+            ClaimScanSink sink = invocation.getArgument(2);
+            for (int page = 0; page < 4; page++) {
+                sink.accept(claims(segment + "-" + page + "-", 5), 1.5);
+            }
+            return null;
+        }).when(claimsRepository).scanSegment(anyInt(), eq(3), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ClaimExportSummary summary = exporter.export(out, 3, false);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(60);
+        assertThat(lines).extracting(line -> objectMapper.readTree(line).get("claimId").asText())
+                .doesNotHaveDuplicates()
+                .contains("claim-0-0-0", "claim-2-3-4");
+        assertThat(summary.getClaims()).isEqualTo(60);
+        assertThat(summary.getPages()).isEqualTo(12);
+        assertThat(summary.getConsumedCapacityUnits()).isEqualTo(18.0);
+    }
+
+    @Test
+    void export_Gzip_CompressesOutput() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            ClaimScanSink sink = invocation.getArgument(2);
+            sink.accept(claims("", 3), 0.5);
+            return null;
+        }).when(claimsRepository).scanSegment(eq(0), eq(1), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exporter.export(out, 1, true);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()).hasSize(3);
+        }
+    }
+
+    @Test
+    void export_SegmentFails_ThrowsWithoutWaitingForOtherSegments() throws Exception {
+        // Given - segment 1 would keep producing pages forever, if it starts before the export is cancelled
+        doThrow(new IllegalStateException("throttled")).when(claimsRepository).scanSegment(eq(0), eq(2), any());
+        lenient().doAnswer(invocation -> {
+            ClaimScanSink sink = invocation.getArgument(2);
+            while (true) {
+                sink.accept(claims("", 1), 0.5);
+            }
+        }).when(claimsRepository).scanSegment(eq(1), eq(2), any());
+
+        // When & Then
+        assertThatThrownBy(() -> exporter.export(new ByteArrayOutputStream(), 2, false))
+                .isInstanceOf(IOException.class)
+                .hasRootCauseMessage("throttled");
+    }
+
+    @Test
+    void validateSegments_OutOfRange_IsRejected() {
+        assertThatThrownBy(() -> ClaimExporter.validateSegments(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ClaimExporter.validateSegments(ClaimExporter.MAX_SEGMENTS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Claim> claims(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Claim claim = new Claim();
+            claim.setClaimId("claim-" + prefix + i);
+            claim.setStatus("PENDING");
+            return claim;
+        }).toList();
+    }
+}
@@ -1,20 +1,39 @@
 package com.example.claims.service;
 
+import com.example.claims.model.BatchGetClaimsResponse;
 import com.example.claims.model.Claim;
 import com.example.claims.model.ClaimSummary;
 import com.example.claims.model.CreateClaimRequest;
+import com.example.claims.repository.AsyncClaimsRepository;
+import com.example.claims.repository.ClaimAlreadyExistsException;
+import com.example.claims.repository.IdempotencyStore;
+import com.example.claims.repository.NotesPayload;
+import com.example.claims.repository.ReadConsistency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +42,15 @@ class ClaimsServiceTest {
     @Mock
     private com.example.claims.repository.ClaimsRepository claimsRepository;
 
+    @Mock
+    private AsyncClaimsRepository asyncClaimsRepository;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ClaimsServiceImpl claimsService;
 
@@ -67,6 +95,19 @@ class ClaimsServiceTest {
         assertThat(result.getStatus()).isEqualTo("UNDER_REVIEW");
     }
 
+    @Test
+    void getClaimWithFields_FullClaimFromCache_ReturnsOnlySelectedFields() {
+        // Given
+        Set<String> fields = new LinkedHashSet<>(List.of("status", "claimId"));
+        when(claimsRepository.findById("test-claim-123", fields)).thenReturn(testClaim);
+
+        // When
+        Map<String, Object> result = claimsService.getClaim("test-claim-123", fields);
+
+        // Then
+        assertThat(result).containsExactly(Map.entry("status", "UNDER_REVIEW"), Map.entry("claimId", "test-claim-123"));
+    }
+
     @Test
     void getClaim_NonExistingClaim_ThrowsException() {
         // Given
@@ -77,6 +118,20 @@ class ClaimsServiceTest {
                 .isInstanceOf(RuntimeException.class);
     }
 
+    @Test
+    void getClaims_MixedIds_ReturnsFoundAndMissingInRequestOrder() {
+        // Given
+        when(claimsRepository.findByIds(List.of("test-claim-123", "non-existing")))
+                .thenReturn(Map.of("test-claim-123", testClaim));
+
+        // When
+        BatchGetClaimsResponse result = claimsService.getClaims(List.of("test-claim-123", "non-existing", "test-claim-123"));
+
+        // Then
+        assertThat(result.getClaims()).containsExactly(testClaim);
+        assertThat(result.getMissing()).containsExactly("non-existing");
+    }
+
     @Test
     void summarizeClaim_ValidClaimId_ReturnsSummary() {
         // Given
@@ -93,15 +148,40 @@ class ClaimsServiceTest {
     }
 
     @Test
-    void generateClaimFiles_ValidClaimId_CallsRepository() {
+    void generateClaimFiles_ValidClaimId_InvokesLambdaWithClaimAndNotes() {
         // Given
-        when(claimsRepository.findById("test-claim-123")).thenReturn(testClaim);
+        CompletableFuture<Claim> claimRead = new CompletableFuture<>();
+        when(asyncClaimsRepository.findById("test-claim-123")).thenReturn(claimRead);
+        NotesPayload notes = NotesPayload.inline("Adjuster notes");
+        when(asyncClaimsRepository.getNotesPayload("test-claim-123")).thenReturn(CompletableFuture.completedFuture(notes));
+        when(asyncClaimsRepository.generateClaimFiles(testClaim, notes)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        CompletableFuture<Void> result = claimsService.generateClaimFiles("test-claim-123");
+
+        // Then - the notes read was started without waiting for the claim
+        verify(asyncClaimsRepository).getNotesPayload("test-claim-123");
+        assertThat(result).isNotDone();
+        claimRead.complete(testClaim);
+        assertThat(result).isCompleted();
+        verify(asyncClaimsRepository).generateClaimFiles(testClaim, notes);
+    }
+
+    @Test
+    void generateClaimFiles_NonExistingClaim_CompletesExceptionally() {
+        // Given
+        when(asyncClaimsRepository.findById("non-existing")).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncClaimsRepository.getNotesPayload("non-existing"))
+                .thenReturn(CompletableFuture.completedFuture(NotesPayload.inline("notes")));
 
         // When
-        claimsService.generateClaimFiles("test-claim-123");
+        CompletableFuture<Void> result = claimsService.generateClaimFiles("non-existing");
 
-        // Then - verify the repository method was called (implicitly tested through mocking)
-        // In a real scenario, you might verify interactions or side effects
+        // Then
+        assertThat(result).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withMessageContaining("Claim not found: non-existing");
+        verify(asyncClaimsRepository, never()).generateClaimFiles(any(Claim.class), any());
     }
 
     @Test
@@ -126,4 +206,77 @@ class ClaimsServiceTest {
         assertThat(result.getClaimId()).isEqualTo("new-claim-123");
         assertThat(result.getStatus()).isEqualTo("PENDING");
     }
-}
\ No newline at end of file
+
+    @Test
+    void createClaimWithKey_RetriedRequest_ReturnsOriginalWithoutWriting() {
+        // Given
+        when(idempotencyStore.begin("key-1", createRequest)).thenReturn(testClaim);
+
+        // When
+        Claim result = claimsService.createClaim(createRequest, "key-1");
+
+        // Then
+        assertThat(result).isSameAs(testClaim);
+        verify(claimsRepository, never()).save(any(CreateClaimRequest.class));
+    }
+
+    @Test
+    void createClaimWithKey_WriteFails_ReleasesKey() {
+        // Given
+        when(idempotencyStore.begin("key-1", createRequest)).thenReturn(null);
+        when(claimsRepository.save(createRequest)).thenThrow(new IllegalStateException("DynamoDB unavailable"));
+
+        // When & Then
+        assertThatThrownBy(() -> claimsService.createClaim(createRequest, "key-1"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(idempotencyStore).release("key-1");
+        verify(idempotencyStore, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void createClaimWithKey_CompleteFails_StillReturnsWrittenClaim() {
+        // Given
+        when(idempotencyStore.begin("key-1", createRequest)).thenReturn(null);
+        when(claimsRepository.save(createRequest)).thenReturn(testClaim);
+        doThrow(new IllegalStateException("DynamoDB unavailable")).when(idempotencyStore)
+                .complete("key-1", createRequest, testClaim);
+
+        // When
+        Claim result = claimsService.createClaim(createRequest, "key-1");
+
+        // Then
+        assertThat(result).isSameAs(testClaim);
+        verify(idempotencyStore, never()).release("key-1");
+    }
+
+    @Test
+    void createClaimWithKey_EarlierWriteNotRecorded_ReplaysStoredClaim() {
+        // Given - the first request wrote the claim, then failed to complete the key
+        ClaimAlreadyExistsException exists = new ClaimAlreadyExistsException("new-claim-123", null);
+        when(idempotencyStore.begin("key-1", createRequest)).thenReturn(null);
+        when(claimsRepository.save(createRequest)).thenThrow(exists);
+        when(claimsRepository.findById("new-claim-123", ReadConsistency.STRONG)).thenReturn(testClaim);
+        when(idempotencyStore.replayStored(createRequest, testClaim)).thenReturn(testClaim);
+
+        // When
+        Claim result = claimsService.createClaim(createRequest, "key-1");
+
+        // Then
+        assertThat(result).isSameAs(testClaim);
+        verify(idempotencyStore).complete("key-1", createRequest, testClaim);
+    }
+
+    @Test
+    void createClaimWithKey_ExistingClaimFromOtherBody_ThrowsAlreadyExists() {
+        // Given
+        ClaimAlreadyExistsException exists = new ClaimAlreadyExistsException("new-claim-123", null);
+        when(idempotencyStore.begin("key-1", createRequest)).thenReturn(null);
+        when(claimsRepository.save(createRequest)).thenThrow(exists);
+        when(claimsRepository.findById("new-claim-123", ReadConsistency.STRONG)).thenReturn(testClaim);
+        when(idempotencyStore.replayStored(createRequest, testClaim)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> claimsService.createClaim(createRequest, "key-1")).isSameAs(exists);
+        verify(idempotencyStore).release("key-1");
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.claims.service;
+
+import com.example.claims.model.FileGenerationStatus;
+import com.example.claims.repository.AsyncClaimsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FileGenerationServiceTest {
+
+    @Mock
+    private ClaimsService claimsService;
+
+    @Mock
+    private AsyncClaimsRepository asyncClaimsRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+
+    @Test
+    void getStatus_FilesAppear_MovesFromRunningToDone() {
+        // Given
+        List<String> files = List.of("s3://claims-notes-bucket/test-claim-123/adjuster-notes.json",
+                "s3://claims-notes-bucket/test-claim-123/customer-correspondence.json");
+        when(claimsService.dispatchClaimFiles(eq("test-claim-123"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncClaimsRepository.findGeneratedFiles(eq("test-claim-123"), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()))
+                .thenReturn(CompletableFuture.completedFuture(files));
+        List<Runnable> dispatchQueue = new ArrayList<>();
+        FileGenerationService service = newService(dispatchQueue::add);
+
+        // When
+        FileGenerationStatus submitted = service.submit("test-claim-123");
+        FileGenerationStatus queued = service.getStatus("test-claim-123").join();
+        dispatchQueue.forEach(Runnable::run);
+        FileGenerationStatus running = service.getStatus("test-claim-123").join();
+        clock.advance(Duration.ofSeconds(3));
+        FileGenerationStatus done = service.getStatus("test-claim-123").join();
+
+        // Then
+        assertThat(submitted.getStatus()).isEqualTo(FileGenerationStatus.QUEUED);
+        assertThat(queued.getStatus()).isEqualTo(FileGenerationStatus.QUEUED);
+        assertThat(running.getStatus()).isEqualTo(FileGenerationStatus.RUNNING);
+        assertThat(done.getStatus()).isEqualTo(FileGenerationStatus.DONE);
+        assertThat(done.getFiles()).isEqualTo(files);
+        assertThat(done.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void getStatus_PodClockAheadOfS3_MatchesFilesOnGenerationId() {
+        // Given - S3 holds files of an earlier run and, later, files of this generation
+        List<String> files = List.of("s3://claims-notes-bucket/test-claim-123/adjuster-notes.json",
+                "s3://claims-notes-bucket/test-claim-123/customer-correspondence.json");
+        ArgumentCaptor<String> dispatchedId = ArgumentCaptor.forClass(String.class);
+        when(claimsService.dispatchClaimFiles(eq("test-claim-123"), dispatchedId.capture()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Map<String, String> storedGeneration = new HashMap<>(Map.of("test-claim-123", "earlier-run"));
+        when(asyncClaimsRepository.findGeneratedFiles(eq("test-claim-123"), any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.getArgument(1).equals(storedGeneration.get("test-claim-123"))
+                        ? files : List.of()));
+        FileGenerationService service = newService(Runnable::run);
+
+        // When - the pod clock is an hour ahead of S3, which no longer matters
+        clock.advance(Duration.ofHours(1));
+        service.submit("test-claim-123");
+        FileGenerationStatus beforeWrite = service.getStatus("test-claim-123").join();
+        storedGeneration.put("test-claim-123", dispatchedId.getValue());
+        clock.advance(Duration.ofSeconds(3));
+        FileGenerationStatus afterWrite = service.getStatus("test-claim-123").join();
+
+        // Then
+        assertThat(beforeWrite.getStatus()).isEqualTo(FileGenerationStatus.RUNNING);
+        assertThat(afterWrite.getStatus()).isEqualTo(FileGenerationStatus.DONE);
+        verify(asyncClaimsRepository, times(2)).findGeneratedFiles("test-claim-123", dispatchedId.getValue());
+    }
+
+    @Test
+    void getStatus_PolledWithinCheckInterval_DoesNotCheckS3Again() {
+        // Given
+        when(claimsService.dispatchClaimFiles(eq("test-claim-123"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncClaimsRepository.findGeneratedFiles(eq("test-claim-123"), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        FileGenerationService service = newService(Runnable::run);
+        service.submit("test-claim-123");
+
+        // When
+        service.getStatus("test-claim-123").join();
+        service.getStatus("test-claim-123").join();
+        FileGenerationStatus resubmitted = service.submit("test-claim-123");
+
+        // Then - one S3 check and one dispatch
+        verify(asyncClaimsRepository, times(1)).findGeneratedFiles(eq("test-claim-123"), any());
+        verify(claimsService, times(1)).dispatchClaimFiles(eq("test-claim-123"), any());
+        assertThat(resubmitted.getStatus()).isEqualTo(FileGenerationStatus.RUNNING);
+    }
+
+    @Test
+    void getStatus_FilesNeverAppear_FailsAfterTimeout() {
+        // Given
+        when(claimsService.dispatchClaimFiles(eq("test-claim-123"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncClaimsRepository.findGeneratedFiles(eq("test-claim-123"), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        FileGenerationService service = newService(Runnable::run);
+        service.submit("test-claim-123");
+
+        // When
+        clock.advance(Duration.ofMinutes(6));
+        FileGenerationStatus status = service.getStatus("test-claim-123").join();
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(FileGenerationStatus.FAILED);
+        assertThat(status.getError()).contains("did not appear");
+    }
+
+    @Test
+    void submit_RunningPastTimeoutWithoutPolls_StartsNewGeneration() {
+        // Given - dispatched, but nobody polled the status until after the timeout
+        when(claimsService.dispatchClaimFiles(eq("test-claim-123"), any())).thenReturn(CompletableFuture.completedFuture(null));
+        FileGenerationService service = newService(Runnable::run);
+        service.submit("test-claim-123");
+
+        // When
+        clock.advance(Duration.ofMinutes(6));
+        FileGenerationStatus resubmitted = service.submit("test-claim-123");
+
+        // Then
+        verify(claimsService, times(2)).dispatchClaimFiles(eq("test-claim-123"), any());
+        assertThat(resubmitted.getDispatchedAt()).isEqualTo(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+        verify(asyncClaimsRepository, never()).findGeneratedFiles(any(), any());
+    }
+
+    @Test
+    void submit_DispatchFails_RecordsFailure() {
+        // Given
+        when(claimsService.dispatchClaimFiles(eq("missing"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Claim not found: missing")));
+        FileGenerationService service = newService(Runnable::run);
+
+        // When
+        service.submit("missing");
+        FileGenerationStatus status = service.getStatus("missing").join();
+
+        // Then
+        assertThat(status.getStatus()).isEqualTo(FileGenerationStatus.FAILED);
+        assertThat(status.getError()).isEqualTo("Claim not found: missing");
+        verify(asyncClaimsRepository, never()).findGeneratedFiles(any(), any());
+    }
+
+    @Test
+    void submit_QueueFull_RejectsAndCounts() {
+        // Given
+        FileGenerationService service = newService(task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> service.submit("test-claim-123")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("claims.file-generation.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(service.getStatus("test-claim-123").join()).isNull();
+    }
+
+    private FileGenerationService newService(Executor executor) {
+        return new FileGenerationService(claimsService, asyncClaimsRepository, executor, meterRegistry,
+                Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofSeconds(2), clock);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.claims.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentCallsForSameKey_ShareOneInvocation() throws Exception {
+        // Given
+        int callers = 8;
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("claim-1", () -> {
+                    invocations.incrementAndGet();
+                    awaitQuietly(release);
+                    return "summary";
+                })));
+            }
+            // Wait until every caller but the leader has joined the in-flight call
+            while (meterRegistry.get("claims.singleflight.collapsed").counter().count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(invocations.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_SequentialCalls_InvokeEachTime() {
+        // Given
+        AtomicInteger invocations = new AtomicInteger();
+
+        // When
+        singleFlight.execute("claim-1", () -> "first-" + invocations.incrementAndGet());
+        String second = singleFlight.execute("claim-1", () -> "second-" + invocations.incrementAndGet());
+
+        // Then
+        assertThat(second).isEqualTo("second-2");
+        assertThat(meterRegistry.get("claims.singleflight.collapsed").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_FailedCall_PropagatesException() {
+        // When & Then
+        assertThatThrownBy(() -> singleFlight.execute("claim-1", () -> {
+            throw new IllegalStateException("Lambda throttled");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("claim-1", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void executeAsync_CallForSameKeyPending_SharesResult() {
+        // Given
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AtomicInteger invocations = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> first = singleFlight.executeAsync("claim-1", () -> {
+            invocations.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("claim-1", () -> {
+            invocations.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        pending.complete("files");
+
+        // Then
+        assertThat(first.join()).isEqualTo("files");
+        assertThat(second.join()).isEqualTo("files");
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("claims.singleflight.inflight").gauge().value()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
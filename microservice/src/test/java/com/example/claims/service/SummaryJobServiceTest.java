@@ -0,0 +1,75 @@
+package com.example.claims.service;
+
+import com.example.claims.model.ClaimSummary;
+import com.example.claims.model.SummaryJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SummaryJobServiceTest {
+
+    @Mock
+    private ClaimsService claimsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void submit_ValidClaim_CompletesWithSummary() throws Exception {
+        // Given
+        ClaimSummary summary = new ClaimSummary("test-claim-123", null, LocalDateTime.now(), "test-model");
+        when(claimsService.summarizeClaim("test-claim-123")).thenReturn(summary);
+        SummaryJobService jobService = newService(Runnable::run);
+
+        // When
+        SummaryJob submitted = jobService.submit("test-claim-123");
+        SummaryJob completed = jobService.awaitJob(submitted.getJobId(), Duration.ofSeconds(1)).get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(completed.getStatus()).isEqualTo(SummaryJob.SUCCEEDED);
+        assertThat(completed.getSummary()).isSameAs(summary);
+        assertThat(completed.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void awaitJob_PendingJob_ReturnsCurrentStateAfterWait() throws Exception {
+        // Given
+        SummaryJobService jobService = newService(task -> { });
+        SummaryJob submitted = jobService.submit("test-claim-123");
+
+        // When
+        SummaryJob polled = jobService.awaitJob(submitted.getJobId(), Duration.ofMillis(50)).get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(polled.getStatus()).isEqualTo(SummaryJob.QUEUED);
+        assertThat(jobService.awaitJob("unknown", Duration.ZERO).get()).isNull();
+    }
+
+    @Test
+    void submit_QueueFull_RejectsAndCounts() {
+        // Given
+        SummaryJobService jobService = newService(task -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> jobService.submit("test-claim-123")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("claims.summary.jobs.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    private SummaryJobService newService(Executor executor) {
+        return new SummaryJobService(claimsService, executor, meterRegistry, Duration.ofMinutes(15), Duration.ofSeconds(25));
+    }
+}